@@ -0,0 +1,105 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load generator for comparing request threading modes (see README.md in this directory).
+ * Each of the concurrency workers sends GET requests round-robin over the given paths, as fast as responses
+ * come back, for the given duration; throughput and latency percentiles are printed at the end.
+ *
+ * Usage: java LoadTest.java <base-url> <bearer-token> <concurrency> <seconds> <path> [<path>...]
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 5) {
+            System.err.println("Usage: java LoadTest.java <base-url> <bearer-token> <concurrency> <seconds> <path>...");
+            System.exit(2);
+        }
+        String baseUrl = args[0];
+        String token = args[1];
+        int concurrency = Integer.parseInt(args[2]);
+        long durationNanos = Duration.ofSeconds(Long.parseLong(args[3])).toNanos();
+        List<String> paths = Arrays.asList(args).subList(4, args.length);
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        // Per-worker latency samples (ns), grown as needed; read only after every worker is done
+        long[][] latencies = new long[concurrency][];
+        int[] counts = new int[concurrency];
+        AtomicLong errors = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(concurrency);
+        long start = System.nanoTime();
+        long end = start + durationNanos;
+
+        for (int w = 0; w < concurrency; w++) {
+            int worker = w;
+            Thread thread = new Thread(() -> {
+                long[] samples = new long[1024];
+                int count = 0;
+                try {
+                    while (System.nanoTime() < end) {
+                        String path = paths.get((worker + count) % paths.size());
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                                .header("Authorization", "Bearer " + token)
+                                .timeout(Duration.ofSeconds(30))
+                                .GET()
+                                .build();
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 400) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        if (count == samples.length) {
+                            samples = Arrays.copyOf(samples, count * 2);
+                        }
+                        samples[count++] = System.nanoTime() - sent;
+                    }
+                } finally {
+                    latencies[worker] = samples;
+                    counts[worker] = count;
+                    done.countDown();
+                }
+            });
+            thread.start();
+        }
+        done.await();
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        int total = 0;
+        for (int count : counts) {
+            total += count;
+        }
+        long[] all = new long[total];
+        int i = 0;
+        for (int w = 0; w < concurrency; w++) {
+            System.arraycopy(latencies[w], 0, all, i, counts[w]);
+            i += counts[w];
+        }
+        Arrays.sort(all);
+
+        System.out.printf("requests=%d errors=%d elapsed=%.1fs throughput=%.1f req/s%n",
+                total, errors.get(), elapsedSeconds, total / elapsedSeconds);
+        System.out.printf("latency ms: p50=%.1f p90=%.1f p99=%.1f max=%.1f%n",
+                percentile(all, 0.50), percentile(all, 0.90), percentile(all, 0.99), percentile(all, 1.0));
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
@@ -0,0 +1,29 @@
+package com.expenseops.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Runs SchemaMigrator before the JPA EntityManagerFactory is created,
+ * so Hibernate never starts against an out-of-date schema.
+ */
+@Configuration
+@ConditionalOnProperty(name = "expenseops.migrations.enabled", havingValue = "true", matchIfMissing = true)
+public class MigrationConfig {
+
+    @Bean(initMethod = "migrate")
+    public SchemaMigrator schemaMigrator(DataSource dataSource,
+            @Value("${expenseops.migrations.location:classpath:db/migration}") String location) {
+        return new SchemaMigrator(dataSource, location);
+    }
+
+    @Bean
+    public static EntityManagerFactoryDependsOnPostProcessor schemaMigratorDependency() {
+        return new EntityManagerFactoryDependsOnPostProcessor("schemaMigrator");
+    }
+}
@@ -0,0 +1,12 @@
+package com.expenseops.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled background jobs (e.g. counter reconciliation).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,232 @@
+package com.expenseops.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * Applies versioned SQL migrations (V{version}__{description}.sql) in order at startup.
+ * Runs under a Postgres advisory lock so only one instance migrates at a time, and records each
+ * applied version with its checksum in schema_migrations.
+ * Scripts run in a single transaction unless they start with "-- migrate:no-transaction",
+ * which is required for CREATE INDEX CONCURRENTLY.
+ * A transactional script goes to the driver as one string, which it splits into statements itself, understanding
+ * dollar-quoted bodies ($$ ... $$) of functions and DO blocks. A no-transaction script has to run statement by
+ * statement (the driver would send them as one implicit transaction), and is split here on ";", so it must not
+ * contain dollar-quoted bodies; that is checked on load.
+ * A concurrent build that fails leaves an INVALID index behind, which "IF NOT EXISTS" would then silently keep, so
+ * before running such a script any invalid index it creates is dropped, and afterwards each one must be valid.
+ */
+public class SchemaMigrator {
+
+    private static final Logger log = LoggerFactory.getLogger(SchemaMigrator.class);
+
+    // Arbitrary key shared by every instance of the app
+    private static final long LOCK_KEY = 7_351_820_416_001L;
+
+    private static final Pattern FILE_NAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+    private static final String NO_TRANSACTION = "-- migrate:no-transaction";
+    private static final Pattern DOLLAR_QUOTE = Pattern.compile("\\$\\w*\\$");
+    private static final Pattern CONCURRENT_INDEX = Pattern.compile(
+            "CREATE\\s+(?:UNIQUE\\s+)?INDEX\\s+CONCURRENTLY\\s+(?:IF\\s+NOT\\s+EXISTS\\s+)?(\\w+)",
+            Pattern.CASE_INSENSITIVE);
+
+    private final DataSource dataSource;
+    private final String location;
+
+    public SchemaMigrator(DataSource dataSource, String location) {
+        this.dataSource = dataSource;
+        this.location = location;
+    }
+
+    public void migrate() {
+        List<Migration> migrations = loadMigrations();
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            execute(connection, "SELECT pg_advisory_lock(" + LOCK_KEY + ")");
+            try {
+                execute(connection, "CREATE TABLE IF NOT EXISTS schema_migrations ("
+                        + "version INTEGER PRIMARY KEY, "
+                        + "description VARCHAR(200) NOT NULL, "
+                        + "checksum BIGINT NOT NULL, "
+                        + "execution_ms BIGINT NOT NULL, "
+                        + "applied_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now())");
+
+                Map<Integer, Long> applied = loadApplied(connection);
+                int count = 0;
+                for (Migration migration : migrations) {
+                    Long checksum = applied.get(migration.version);
+                    if (checksum == null) {
+                        apply(connection, migration);
+                        count++;
+                    } else if (checksum != migration.checksum) {
+                        throw new RuntimeException("Migration V" + migration.version
+                                + " was modified after it was applied");
+                    }
+                }
+                log.info("Schema is up to date: {} migration(s) applied, {} total", count, migrations.size());
+            } finally {
+                execute(connection, "SELECT pg_advisory_unlock(" + LOCK_KEY + ")");
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Schema migration failed: " + e.getMessage(), e);
+        }
+    }
+
+    private List<Migration> loadMigrations() {
+        List<Migration> migrations = new ArrayList<>();
+        try {
+            Resource[] resources = new PathMatchingResourcePatternResolver().getResources(location + "/V*__*.sql");
+            for (Resource resource : resources) {
+                Matcher matcher = FILE_NAME.matcher(resource.getFilename());
+                if (!matcher.matches()) {
+                    throw new RuntimeException("Invalid migration file name: " + resource.getFilename());
+                }
+                byte[] content = resource.getContentAsByteArray();
+                CRC32 crc = new CRC32();
+                crc.update(content);
+                String script = new String(content, StandardCharsets.UTF_8);
+                boolean transactional = !script.startsWith(NO_TRANSACTION);
+                if (!transactional && DOLLAR_QUOTE.matcher(script).find()) {
+                    throw new RuntimeException("Migration " + resource.getFilename() + " runs without a transaction "
+                            + "and cannot contain dollar-quoted bodies; move them to a transactional migration");
+                }
+                migrations.add(new Migration(Integer.parseInt(matcher.group(1)),
+                        matcher.group(2).replace('_', ' '), crc.getValue(), transactional,
+                        concurrentIndexes(script), script, resource));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot read migrations from " + location, e);
+        }
+
+        migrations.sort(Comparator.comparingInt(m -> m.version));
+        for (int i = 1; i < migrations.size(); i++) {
+            if (migrations.get(i).version == migrations.get(i - 1).version) {
+                throw new RuntimeException("Duplicate migration version V" + migrations.get(i).version);
+            }
+        }
+        return migrations;
+    }
+
+    private Map<Integer, Long> loadApplied(Connection connection) throws SQLException {
+        Map<Integer, Long> applied = new HashMap<>();
+        try (Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery("SELECT version, checksum FROM schema_migrations")) {
+            while (rs.next()) {
+                applied.put(rs.getInt(1), rs.getLong(2));
+            }
+        }
+        return applied;
+    }
+
+    private void apply(Connection connection, Migration migration) throws SQLException {
+        log.info("Applying migration V{} ({}){}", migration.version, migration.description,
+                migration.transactional ? "" : " without a transaction");
+        long start = System.currentTimeMillis();
+
+        connection.setAutoCommit(!migration.transactional);
+        try {
+            for (String index : migration.concurrentIndexes) {
+                if (Boolean.FALSE.equals(isIndexValid(connection, index))) {
+                    log.warn("Dropping invalid index {} left by an earlier failed build", index);
+                    execute(connection, "DROP INDEX CONCURRENTLY IF EXISTS " + index);
+                }
+            }
+            if (migration.transactional) {
+                execute(connection, migration.script);
+            } else {
+                ScriptUtils.executeSqlScript(connection, migration.resource);
+            }
+            for (String index : migration.concurrentIndexes) {
+                if (!Boolean.TRUE.equals(isIndexValid(connection, index))) {
+                    throw new RuntimeException("Index " + index + " is missing or invalid after the build");
+                }
+            }
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO schema_migrations (version, description, checksum, execution_ms) VALUES (?, ?, ?, ?)")) {
+                insert.setInt(1, migration.version);
+                insert.setString(2, migration.description);
+                insert.setLong(3, migration.checksum);
+                insert.setLong(4, System.currentTimeMillis() - start);
+                insert.executeUpdate();
+            }
+            if (migration.transactional) {
+                connection.commit();
+            }
+        } catch (RuntimeException | SQLException e) {
+            if (migration.transactional) {
+                connection.rollback();
+            }
+            throw new RuntimeException("Migration V" + migration.version + " failed: " + e.getMessage(), e);
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    private static List<String> concurrentIndexes(String script) {
+        List<String> indexes = new ArrayList<>();
+        Matcher matcher = CONCURRENT_INDEX.matcher(script);
+        while (matcher.find()) {
+            indexes.add(matcher.group(1));
+        }
+        return indexes;
+    }
+
+    // null when the index does not exist
+    private Boolean isIndexValid(Connection connection, String index) throws SQLException {
+        try (PreparedStatement query = connection.prepareStatement(
+                "SELECT indisvalid FROM pg_index WHERE indexrelid = to_regclass(?)")) {
+            query.setString(1, index);
+            try (ResultSet rs = query.executeQuery()) {
+                return rs.next() ? rs.getBoolean(1) : null;
+            }
+        }
+    }
+
+    private void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static class Migration {
+        private final int version;
+        private final String description;
+        private final long checksum;
+        private final boolean transactional;
+        private final List<String> concurrentIndexes;
+        private final String script;
+        private final Resource resource;
+
+        Migration(int version, String description, long checksum, boolean transactional,
+                List<String> concurrentIndexes, String script, Resource resource) {
+            this.version = version;
+            this.description = description;
+            this.checksum = checksum;
+            this.transactional = transactional;
+            this.concurrentIndexes = concurrentIndexes;
+            this.script = script;
+            this.resource = resource;
+        }
+    }
+}
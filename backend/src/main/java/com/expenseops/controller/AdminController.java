@@ -1,7 +1,10 @@
 package com.expenseops.controller;
 
+import com.expenseops.dto.AuditLogResponse;
+import com.expenseops.dto.CursorPage;
 import com.expenseops.dto.UpdateRoleRequest;
 import com.expenseops.dto.UserResponse;
+import com.expenseops.service.AuditService;
 import com.expenseops.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -9,8 +12,10 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -21,9 +26,11 @@ import java.util.UUID;
 public class AdminController {
 
     private final UserService userService;
+    private final AuditService auditService;
 
-    public AdminController(UserService userService) {
+    public AdminController(UserService userService, AuditService auditService) {
         this.userService = userService;
+        this.auditService = auditService;
     }
 
     @GetMapping("/users")
@@ -108,4 +115,18 @@ public class AdminController {
             @PathVariable UUID categoryId) {
         return ResponseEntity.ok(categoryService.toggleCategoryActive(categoryId));
     }
+
+    @GetMapping("/audit-logs")
+    @Operation(summary = "Query audit trail", description = "Returns a keyset-paginated page of audit events, "
+            + "newest first, optionally filtered by entity, actor and time range (Admin only)")
+    public ResponseEntity<CursorPage<AuditLogResponse>> getAuditLogs(
+            @RequestParam(required = false) String entityType,
+            @RequestParam(required = false) UUID entityId,
+            @RequestParam(required = false) UUID actorId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(auditService.getAuditLogs(entityType, entityId, actorId, from, to, cursor, limit));
+    }
 }
@@ -0,0 +1,32 @@
+package com.expenseops.controller;
+
+import com.expenseops.dto.SpendRollupResponse;
+import com.expenseops.service.SpendRollupService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/analytics")
+@Tag(name = "Analytics", description = "Pre-aggregated spend for dashboards")
+public class AnalyticsController {
+
+    private final SpendRollupService spendRollupService;
+
+    public AnalyticsController(SpendRollupService spendRollupService) {
+        this.spendRollupService = spendRollupService;
+    }
+
+    @GetMapping("/spend")
+    @Operation(summary = "Get spend rollups", description = "Expense count and total per month, category, department and status (Manager/Finance/Admin only). Defaults to the last 12 months")
+    public ResponseEntity<List<SpendRollupResponse>> getSpendRollups(
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to) {
+        return ResponseEntity.ok(spendRollupService.getSpendRollups(from, to));
+    }
+}
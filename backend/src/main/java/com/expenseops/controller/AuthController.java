@@ -34,6 +34,13 @@ public class AuthController {
         return ResponseEntity.ok(authService.login(request));
     }
 
+    @PostMapping("/logout")
+    @Operation(summary = "Logout user", description = "Revoke the JWT token used for this request")
+    public ResponseEntity<Void> logout() {
+        authService.logout();
+        return ResponseEntity.noContent().build();
+    }
+
     @PostMapping("/register")
     @Operation(summary = "Register new user", description = "Create new user account in specified tenant")
     public ResponseEntity<AuthResponse> register(@Valid @RequestBody RegisterRequest request) {
@@ -5,8 +5,10 @@ import com.expenseops.service.CategoryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
@@ -24,8 +26,13 @@ public class CategoryController {
 
     @GetMapping
     @Operation(summary = "Get all categories", description = "Get active expense categories for the current tenant")
-    public ResponseEntity<List<CategoryResponse>> getCategories() {
-        return ResponseEntity.ok(categoryService.getCategories());
+    public ResponseEntity<List<CategoryResponse>> getCategories(WebRequest request) {
+        String etag = categoryService.getCategoriesETag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate()).eTag(etag)
+                .body(categoryService.getCategories());
     }
 
     @PostMapping
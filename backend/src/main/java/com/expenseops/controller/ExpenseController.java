@@ -1,15 +1,29 @@
 package com.expenseops.controller;
 
 import com.expenseops.dto.*;
+import com.expenseops.entity.ExpenseStatus;
+import com.expenseops.service.BulkExpenseService;
+import com.expenseops.service.ExpenseExportService;
+import com.expenseops.service.ExpenseImportService;
 import com.expenseops.service.ExpenseService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @RestController
@@ -17,39 +31,114 @@ import java.util.UUID;
 @Tag(name = "Expenses", description = "Expense management and workflow")
 public class ExpenseController {
 
+    // Polled lists may be stored by the browser but must be revalidated with their ETag on every use
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final ExpenseService expenseService;
+    private final ExpenseExportService expenseExportService;
+    private final BulkExpenseService bulkExpenseService;
+    private final ExpenseImportService expenseImportService;
 
-    public ExpenseController(ExpenseService expenseService) {
+    public ExpenseController(ExpenseService expenseService, ExpenseExportService expenseExportService,
+            BulkExpenseService bulkExpenseService, ExpenseImportService expenseImportService) {
         this.expenseService = expenseService;
+        this.expenseExportService = expenseExportService;
+        this.bulkExpenseService = bulkExpenseService;
+        this.expenseImportService = expenseImportService;
     }
 
     @GetMapping
-    @Operation(summary = "Get my expenses", description = "Get all expenses for the current user")
-    public ResponseEntity<List<ExpenseResponse>> getMyExpenses() {
-        return ResponseEntity.ok(expenseService.getMyExpenses());
+    @Operation(summary = "Get my expenses", description = "Get a page of expenses for the current user, newest first")
+    public ResponseEntity<CursorPage<ExpenseResponse>> getMyExpenses(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            WebRequest request) {
+        // Read before the list, so a write committed in between can only make the next poll a 200
+        String etag = expenseService.getMyExpensesETag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(REVALIDATE).eTag(etag)
+                .body(expenseService.getMyExpenses(cursor, limit));
     }
 
     @GetMapping("/pending")
-    @Operation(summary = "Get pending approvals", description = "Get expenses awaiting approval (Manager/Finance only)")
-    public ResponseEntity<List<ExpenseResponse>> getPendingApprovals() {
-        return ResponseEntity.ok(expenseService.getPendingApprovals());
+    @Operation(summary = "Get pending approvals", description = "Get a page of expenses awaiting approval (Manager/Finance only)")
+    public ResponseEntity<CursorPage<ExpenseResponse>> getPendingApprovals(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            WebRequest request) {
+        String etag = expenseService.getPendingApprovalsETag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(REVALIDATE).eTag(etag)
+                .body(expenseService.getPendingApprovals(cursor, limit));
     }
 
     @GetMapping("/approved")
-    @Operation(summary = "Get approved for reimbursement", description = "Get approved expenses awaiting reimbursement (Finance only)")
-    public ResponseEntity<List<ExpenseResponse>> getApprovedForReimbursement() {
-        return ResponseEntity.ok(expenseService.getApprovedForReimbursement());
+    @Operation(summary = "Get approved for reimbursement", description = "Get a page of approved expenses awaiting reimbursement (Finance only)")
+    public ResponseEntity<CursorPage<ExpenseResponse>> getApprovedForReimbursement(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(expenseService.getApprovedForReimbursement(cursor, limit));
     }
 
     @GetMapping("/approval-history")
-    @Operation(summary = "Get approval history", description = "Get expenses that have been processed (Approved/Rejected/Reimbursed)")
-    public ResponseEntity<List<ExpenseResponse>> getApprovalHistory() {
-        return ResponseEntity.ok(expenseService.getApprovalHistory());
+    @Operation(summary = "Get approval history", description = "Get a page of processed expenses (Approved/Rejected/Reimbursed), most recently updated first")
+    public ResponseEntity<CursorPage<RawJson>> getApprovalHistory(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(expenseService.getApprovalHistory(cursor, limit));
+    }
+
+    @GetMapping("/summary")
+    @Operation(summary = "Get dashboard summary", description = "Get status counts, totals and recent previews for the current user and role in one call")
+    public ResponseEntity<ExpenseSummaryResponse> getSummary() {
+        return ResponseEntity.ok(expenseService.getSummary());
+    }
+
+    @GetMapping("/counts")
+    @Operation(summary = "Get status counts", description = "Get the number of expenses in each status for badges (Manager/Finance only)")
+    public ResponseEntity<Map<ExpenseStatus, Long>> getStatusCounts() {
+        return ResponseEntity.ok(expenseService.getStatusCounts());
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search expenses", description = "Full-text search over title and description, best matches first")
+    public ResponseEntity<CursorPage<ExpenseResponse>> searchExpenses(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(expenseService.searchExpenses(query, cursor, limit));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export expenses", description = "Stream expenses as CSV or XLSX, filtered by status and creation date (Finance only)")
+    public ResponseEntity<StreamingResponseBody> exportExpenses(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) List<ExpenseStatus> status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        ExportFormat exportFormat = ExportFormat.fromParam(format);
+        StreamingResponseBody body = expenseExportService.exportExpenses(exportFormat, status, from, to);
+        String filename = "expenses-" + LocalDate.now() + "." + exportFormat.getExtension();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
+    @PostMapping(value = "/import", consumes = { "text/csv", MediaType.TEXT_PLAIN_VALUE })
+    @Operation(summary = "Import expenses", description = "Import expenses from a CSV request body with a header row; returns a per-line error report (Admin only)")
+    public ResponseEntity<ExpenseImportResponse> importExpenses(InputStream body) {
+        return ResponseEntity.ok(expenseImportService.importExpenses(body));
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get expense by ID", description = "Get expense details")
-    public ResponseEntity<ExpenseResponse> getExpenseById(@PathVariable UUID id) {
+    public ResponseEntity<RawJson> getExpenseById(@PathVariable UUID id) {
         return ResponseEntity.ok(expenseService.getExpenseById(id));
     }
 
@@ -103,4 +192,22 @@ public class ExpenseController {
         expenseService.deleteExpense(id);
         return ResponseEntity.noContent().build();
     }
+
+    @PostMapping("/bulk/approve")
+    @Operation(summary = "Bulk approve expenses", description = "Approve many SUBMITTED expenses at once, with a per-expense outcome (Manager/Finance only)")
+    public ResponseEntity<BulkActionResponse> approveExpenses(@Valid @RequestBody BulkActionRequest request) {
+        return ResponseEntity.ok(bulkExpenseService.approveExpenses(request.getIds()));
+    }
+
+    @PostMapping("/bulk/reject")
+    @Operation(summary = "Bulk reject expenses", description = "Reject many SUBMITTED expenses with one reason, with a per-expense outcome (Manager/Finance only)")
+    public ResponseEntity<BulkActionResponse> rejectExpenses(@Valid @RequestBody BulkRejectRequest request) {
+        return ResponseEntity.ok(bulkExpenseService.rejectExpenses(request.getIds(), request.getReason()));
+    }
+
+    @PostMapping("/bulk/reimburse")
+    @Operation(summary = "Bulk reimburse expenses", description = "Reimburse many APPROVED expenses at once, with a per-expense outcome (Finance only)")
+    public ResponseEntity<BulkActionResponse> reimburseExpenses(@Valid @RequestBody BulkActionRequest request) {
+        return ResponseEntity.ok(bulkExpenseService.reimburseExpenses(request.getIds()));
+    }
 }
@@ -0,0 +1,54 @@
+package com.expenseops.controller;
+
+import com.expenseops.dto.PayoutRunResponse;
+import com.expenseops.service.PayoutRunService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/payout-runs")
+@Tag(name = "Payout Runs", description = "Batched reimbursement of approved expenses")
+public class PayoutRunController {
+
+    private final PayoutRunService payoutRunService;
+
+    public PayoutRunController(PayoutRunService payoutRunService) {
+        this.payoutRunService = payoutRunService;
+    }
+
+    @PostMapping
+    @Operation(summary = "Start payout run", description = "Reimburse every currently APPROVED expense in background chunks (Finance only)")
+    public ResponseEntity<PayoutRunResponse> createRun(@RequestParam(required = false) Integer chunkSize) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(payoutRunService.createRun(chunkSize));
+    }
+
+    @GetMapping
+    @Operation(summary = "Get payout runs", description = "Get the 50 most recent payout runs with progress (Finance only)")
+    public ResponseEntity<List<PayoutRunResponse>> getRuns() {
+        return ResponseEntity.ok(payoutRunService.getRuns());
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get payout run", description = "Get a payout run's progress and throughput (Finance only)")
+    public ResponseEntity<PayoutRunResponse> getRun(@PathVariable UUID id) {
+        return ResponseEntity.ok(payoutRunService.getRun(id));
+    }
+
+    @PostMapping("/{id}/cancel")
+    @Operation(summary = "Cancel payout run", description = "Stop a payout run after its current chunk (Finance only)")
+    public ResponseEntity<PayoutRunResponse> cancelRun(@PathVariable UUID id) {
+        return ResponseEntity.ok(payoutRunService.cancelRun(id));
+    }
+
+    @PostMapping("/{id}/resume")
+    @Operation(summary = "Resume payout run", description = "Restart a FAILED payout run from where it stopped (Finance only)")
+    public ResponseEntity<PayoutRunResponse> resumeRun(@PathVariable UUID id) {
+        return ResponseEntity.ok(payoutRunService.resumeRun(id));
+    }
+}
@@ -0,0 +1,149 @@
+package com.expenseops.dto;
+
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+public class AuditLogResponse {
+    private UUID id;
+    private String entityType;
+    private UUID entityId;
+    private String action;
+    private UUID actorId;
+    private String actorName;
+    private Map<String, Object> oldValues;
+    private Map<String, Object> newValues;
+    private OffsetDateTime createdAt;
+
+    public AuditLogResponse() {
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(String entityType) {
+        this.entityType = entityType;
+    }
+
+    public UUID getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(UUID entityId) {
+        this.entityId = entityId;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public void setAction(String action) {
+        this.action = action;
+    }
+
+    public UUID getActorId() {
+        return actorId;
+    }
+
+    public void setActorId(UUID actorId) {
+        this.actorId = actorId;
+    }
+
+    public String getActorName() {
+        return actorName;
+    }
+
+    public void setActorName(String actorName) {
+        this.actorName = actorName;
+    }
+
+    public Map<String, Object> getOldValues() {
+        return oldValues;
+    }
+
+    public void setOldValues(Map<String, Object> oldValues) {
+        this.oldValues = oldValues;
+    }
+
+    public Map<String, Object> getNewValues() {
+        return newValues;
+    }
+
+    public void setNewValues(Map<String, Object> newValues) {
+        this.newValues = newValues;
+    }
+
+    public OffsetDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(OffsetDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private final AuditLogResponse response = new AuditLogResponse();
+
+        public Builder id(UUID id) {
+            response.id = id;
+            return this;
+        }
+
+        public Builder entityType(String entityType) {
+            response.entityType = entityType;
+            return this;
+        }
+
+        public Builder entityId(UUID entityId) {
+            response.entityId = entityId;
+            return this;
+        }
+
+        public Builder action(String action) {
+            response.action = action;
+            return this;
+        }
+
+        public Builder actorId(UUID actorId) {
+            response.actorId = actorId;
+            return this;
+        }
+
+        public Builder actorName(String actorName) {
+            response.actorName = actorName;
+            return this;
+        }
+
+        public Builder oldValues(Map<String, Object> oldValues) {
+            response.oldValues = oldValues;
+            return this;
+        }
+
+        public Builder newValues(Map<String, Object> newValues) {
+            response.newValues = newValues;
+            return this;
+        }
+
+        public Builder createdAt(OffsetDateTime createdAt) {
+            response.createdAt = createdAt;
+            return this;
+        }
+
+        public AuditLogResponse build() {
+            return response;
+        }
+    }
+}
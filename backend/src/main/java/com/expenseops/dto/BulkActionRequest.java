@@ -0,0 +1,25 @@
+package com.expenseops.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+public class BulkActionRequest {
+
+    @NotEmpty(message = "At least one expense ID is required")
+    @Size(max = 5000, message = "At most 5000 expenses can be processed at once")
+    private List<UUID> ids;
+
+    public BulkActionRequest() {
+    }
+
+    public List<UUID> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<UUID> ids) {
+        this.ids = ids;
+    }
+}
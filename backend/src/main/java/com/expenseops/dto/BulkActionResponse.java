@@ -0,0 +1,66 @@
+package com.expenseops.dto;
+
+import java.util.List;
+
+/**
+ * Per-expense outcomes of a bulk action, in request order.
+ */
+public class BulkActionResponse {
+    private int succeeded;
+    private int failed;
+    private List<BulkActionResult> results;
+
+    public BulkActionResponse() {
+    }
+
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public void setSucceeded(int succeeded) {
+        this.succeeded = succeeded;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<BulkActionResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BulkActionResult> results) {
+        this.results = results;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private final BulkActionResponse response = new BulkActionResponse();
+
+        public Builder succeeded(int succeeded) {
+            response.succeeded = succeeded;
+            return this;
+        }
+
+        public Builder failed(int failed) {
+            response.failed = failed;
+            return this;
+        }
+
+        public Builder results(List<BulkActionResult> results) {
+            response.results = results;
+            return this;
+        }
+
+        public BulkActionResponse build() {
+            return response;
+        }
+    }
+}
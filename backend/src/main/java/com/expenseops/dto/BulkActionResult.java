@@ -0,0 +1,45 @@
+package com.expenseops.dto;
+
+import java.util.UUID;
+
+/**
+ * Outcome for one expense in a bulk action; error is null on success.
+ */
+public class BulkActionResult {
+    private UUID id;
+    private boolean success;
+    private String error;
+
+    public BulkActionResult() {
+    }
+
+    public BulkActionResult(UUID id, boolean success, String error) {
+        this.id = id;
+        this.success = success;
+        this.error = error;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
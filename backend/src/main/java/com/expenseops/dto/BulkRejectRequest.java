@@ -0,0 +1,38 @@
+package com.expenseops.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+public class BulkRejectRequest {
+
+    @NotEmpty(message = "At least one expense ID is required")
+    @Size(max = 5000, message = "At most 5000 expenses can be processed at once")
+    private List<UUID> ids;
+
+    @NotBlank(message = "Rejection reason is required")
+    @Size(min = 5, max = 500, message = "Reason must be between 5 and 500 characters")
+    private String reason;
+
+    public BulkRejectRequest() {
+    }
+
+    public List<UUID> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<UUID> ids) {
+        this.ids = ids;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+}
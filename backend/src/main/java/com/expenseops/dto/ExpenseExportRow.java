@@ -0,0 +1,124 @@
+package com.expenseops.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Flat, read-only row for expense exports.
+ * Built directly by a JPQL constructor expression so no entities are loaded into the persistence context.
+ */
+public class ExpenseExportRow {
+    private final UUID id;
+    private final LocalDate expenseDate;
+    private final String title;
+    private final String description;
+    private final String categoryName;
+    private final BigDecimal amount;
+    private final String status;
+    private final String userName;
+    private final String userDepartment;
+    private final OffsetDateTime createdAt;
+    private final OffsetDateTime submittedAt;
+    private final OffsetDateTime approvedAt;
+    private final String approvedByName;
+    private final OffsetDateTime reimbursedAt;
+    private final String reimbursedByName;
+    private final String rejectionReason;
+    private final String receiptUrl;
+
+    public ExpenseExportRow(UUID id, LocalDate expenseDate, String title, String description, String categoryName,
+            BigDecimal amount, String status, String userName, String userDepartment, OffsetDateTime createdAt,
+            OffsetDateTime submittedAt, OffsetDateTime approvedAt, String approvedByName,
+            OffsetDateTime reimbursedAt, String reimbursedByName, String rejectionReason, String receiptUrl) {
+        this.id = id;
+        this.expenseDate = expenseDate;
+        this.title = title;
+        this.description = description;
+        this.categoryName = categoryName;
+        this.amount = amount;
+        this.status = status;
+        this.userName = userName;
+        this.userDepartment = userDepartment;
+        this.createdAt = createdAt;
+        this.submittedAt = submittedAt;
+        this.approvedAt = approvedAt;
+        this.approvedByName = approvedByName;
+        this.reimbursedAt = reimbursedAt;
+        this.reimbursedByName = reimbursedByName;
+        this.rejectionReason = rejectionReason;
+        this.receiptUrl = receiptUrl;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public LocalDate getExpenseDate() {
+        if (expenseDate == null && createdAt != null) {
+            return createdAt.toLocalDate();
+        }
+        return expenseDate;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getCategoryName() {
+        return categoryName;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getUserName() {
+        return userName;
+    }
+
+    public String getUserDepartment() {
+        return userDepartment;
+    }
+
+    public OffsetDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public OffsetDateTime getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public OffsetDateTime getApprovedAt() {
+        return approvedAt;
+    }
+
+    public String getApprovedByName() {
+        return approvedByName;
+    }
+
+    public OffsetDateTime getReimbursedAt() {
+        return reimbursedAt;
+    }
+
+    public String getReimbursedByName() {
+        return reimbursedByName;
+    }
+
+    public String getRejectionReason() {
+        return rejectionReason;
+    }
+
+    public String getReceiptUrl() {
+        return receiptUrl;
+    }
+}
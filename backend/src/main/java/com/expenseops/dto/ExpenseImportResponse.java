@@ -0,0 +1,96 @@
+package com.expenseops.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a CSV import. errors lists the first rejected lines; errorsTruncated is set when there were more.
+ * failedChunks lists the line ranges whose valid rows could not be written (their rows count in failed); only those
+ * ranges need importing again.
+ */
+public class ExpenseImportResponse {
+    private long imported;
+    private long failed;
+    private List<ImportLineError> errors;
+    private boolean errorsTruncated;
+    private List<ImportChunkError> failedChunks;
+
+    public ExpenseImportResponse() {
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public void setImported(long imported) {
+        this.imported = imported;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+
+    public List<ImportLineError> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<ImportLineError> errors) {
+        this.errors = errors;
+    }
+
+    public boolean isErrorsTruncated() {
+        return errorsTruncated;
+    }
+
+    public void setErrorsTruncated(boolean errorsTruncated) {
+        this.errorsTruncated = errorsTruncated;
+    }
+
+    public List<ImportChunkError> getFailedChunks() {
+        return failedChunks;
+    }
+
+    public void setFailedChunks(List<ImportChunkError> failedChunks) {
+        this.failedChunks = failedChunks;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private final ExpenseImportResponse response = new ExpenseImportResponse();
+
+        public Builder imported(long imported) {
+            response.imported = imported;
+            return this;
+        }
+
+        public Builder failed(long failed) {
+            response.failed = failed;
+            return this;
+        }
+
+        public Builder errors(List<ImportLineError> errors) {
+            response.errors = errors;
+            return this;
+        }
+
+        public Builder errorsTruncated(boolean errorsTruncated) {
+            response.errorsTruncated = errorsTruncated;
+            return this;
+        }
+
+        public Builder failedChunks(List<ImportChunkError> failedChunks) {
+            response.failedChunks = failedChunks;
+            return this;
+        }
+
+        public ExpenseImportResponse build() {
+            return response;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.expenseops.dto;
+
+import com.expenseops.entity.ExpenseStatus;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything the home page needs in one response.
+ * The pending approval fields are null unless the caller can approve, and the reimbursement fields are null
+ * unless the caller can reimburse.
+ */
+public class ExpenseSummaryResponse {
+    private Map<ExpenseStatus, Long> myCounts;
+    private BigDecimal myTotalAmount;
+    private BigDecimal myPendingAmount;
+    private BigDecimal myApprovedAmount;
+    private BigDecimal myRejectedAmount;
+    private List<ExpensePreview> recentExpenses;
+    private Long pendingApprovalCount;
+    private BigDecimal pendingApprovalAmount;
+    private List<ExpensePreview> pendingApprovals;
+    private Long awaitingReimbursementCount;
+    private BigDecimal awaitingReimbursementAmount;
+    private List<ExpensePreview> awaitingReimbursement;
+
+    public ExpenseSummaryResponse() {
+    }
+
+    public Map<ExpenseStatus, Long> getMyCounts() {
+        return myCounts;
+    }
+
+    public void setMyCounts(Map<ExpenseStatus, Long> myCounts) {
+        this.myCounts = myCounts;
+    }
+
+    public BigDecimal getMyTotalAmount() {
+        return myTotalAmount;
+    }
+
+    public void setMyTotalAmount(BigDecimal myTotalAmount) {
+        this.myTotalAmount = myTotalAmount;
+    }
+
+    public BigDecimal getMyPendingAmount() {
+        return myPendingAmount;
+    }
+
+    public void setMyPendingAmount(BigDecimal myPendingAmount) {
+        this.myPendingAmount = myPendingAmount;
+    }
+
+    public BigDecimal getMyApprovedAmount() {
+        return myApprovedAmount;
+    }
+
+    public void setMyApprovedAmount(BigDecimal myApprovedAmount) {
+        this.myApprovedAmount = myApprovedAmount;
+    }
+
+    public BigDecimal getMyRejectedAmount() {
+        return myRejectedAmount;
+    }
+
+    public void setMyRejectedAmount(BigDecimal myRejectedAmount) {
+        this.myRejectedAmount = myRejectedAmount;
+    }
+
+    public List<ExpensePreview> getRecentExpenses() {
+        return recentExpenses;
+    }
+
+    public void setRecentExpenses(List<ExpensePreview> recentExpenses) {
+        this.recentExpenses = recentExpenses;
+    }
+
+    public Long getPendingApprovalCount() {
+        return pendingApprovalCount;
+    }
+
+    public void setPendingApprovalCount(Long pendingApprovalCount) {
+        this.pendingApprovalCount = pendingApprovalCount;
+    }
+
+    public BigDecimal getPendingApprovalAmount() {
+        return pendingApprovalAmount;
+    }
+
+    public void setPendingApprovalAmount(BigDecimal pendingApprovalAmount) {
+        this.pendingApprovalAmount = pendingApprovalAmount;
+    }
+
+    public List<ExpensePreview> getPendingApprovals() {
+        return pendingApprovals;
+    }
+
+    public void setPendingApprovals(List<ExpensePreview> pendingApprovals) {
+        this.pendingApprovals = pendingApprovals;
+    }
+
+    public Long getAwaitingReimbursementCount() {
+        return awaitingReimbursementCount;
+    }
+
+    public void setAwaitingReimbursementCount(Long awaitingReimbursementCount) {
+        this.awaitingReimbursementCount = awaitingReimbursementCount;
+    }
+
+    public BigDecimal getAwaitingReimbursementAmount() {
+        return awaitingReimbursementAmount;
+    }
+
+    public void setAwaitingReimbursementAmount(BigDecimal awaitingReimbursementAmount) {
+        this.awaitingReimbursementAmount = awaitingReimbursementAmount;
+    }
+
+    public List<ExpensePreview> getAwaitingReimbursement() {
+        return awaitingReimbursement;
+    }
+
+    public void setAwaitingReimbursement(List<ExpensePreview> awaitingReimbursement) {
+        this.awaitingReimbursement = awaitingReimbursement;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private final ExpenseSummaryResponse response = new ExpenseSummaryResponse();
+
+        public Builder myCounts(Map<ExpenseStatus, Long> myCounts) {
+            response.myCounts = myCounts;
+            return this;
+        }
+
+        public Builder myTotalAmount(BigDecimal myTotalAmount) {
+            response.myTotalAmount = myTotalAmount;
+            return this;
+        }
+
+        public Builder myPendingAmount(BigDecimal myPendingAmount) {
+            response.myPendingAmount = myPendingAmount;
+            return this;
+        }
+
+        public Builder myApprovedAmount(BigDecimal myApprovedAmount) {
+            response.myApprovedAmount = myApprovedAmount;
+            return this;
+        }
+
+        public Builder myRejectedAmount(BigDecimal myRejectedAmount) {
+            response.myRejectedAmount = myRejectedAmount;
+            return this;
+        }
+
+        public Builder recentExpenses(List<ExpensePreview> recentExpenses) {
+            response.recentExpenses = recentExpenses;
+            return this;
+        }
+
+        public Builder pendingApprovalCount(Long pendingApprovalCount) {
+            response.pendingApprovalCount = pendingApprovalCount;
+            return this;
+        }
+
+        public Builder pendingApprovalAmount(BigDecimal pendingApprovalAmount) {
+            response.pendingApprovalAmount = pendingApprovalAmount;
+            return this;
+        }
+
+        public Builder pendingApprovals(List<ExpensePreview> pendingApprovals) {
+            response.pendingApprovals = pendingApprovals;
+            return this;
+        }
+
+        public Builder awaitingReimbursementCount(Long awaitingReimbursementCount) {
+            response.awaitingReimbursementCount = awaitingReimbursementCount;
+            return this;
+        }
+
+        public Builder awaitingReimbursementAmount(BigDecimal awaitingReimbursementAmount) {
+            response.awaitingReimbursementAmount = awaitingReimbursementAmount;
+            return this;
+        }
+
+        public Builder awaitingReimbursement(List<ExpensePreview> awaitingReimbursement) {
+            response.awaitingReimbursement = awaitingReimbursement;
+            return this;
+        }
+
+        public ExpenseSummaryResponse build() {
+            return response;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.expenseops.dto;
+
+/**
+ * A chunk of an import that could not be written. Its rows (the valid lines from fromLine to toLine, 1-based and
+ * inclusive) were not imported; invalid lines in that range are reported separately as ImportLineError.
+ */
+public class ImportChunkError {
+    private long fromLine;
+    private long toLine;
+    private long rows;
+    private String message;
+
+    public ImportChunkError() {
+    }
+
+    public ImportChunkError(long fromLine, long toLine, long rows, String message) {
+        this.fromLine = fromLine;
+        this.toLine = toLine;
+        this.rows = rows;
+        this.message = message;
+    }
+
+    public long getFromLine() {
+        return fromLine;
+    }
+
+    public void setFromLine(long fromLine) {
+        this.fromLine = fromLine;
+    }
+
+    public long getToLine() {
+        return toLine;
+    }
+
+    public void setToLine(long toLine) {
+        this.toLine = toLine;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public void setRows(long rows) {
+        this.rows = rows;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,33 @@
+package com.expenseops.dto;
+
+/**
+ * One rejected line of an import; line is the 1-based line number in the uploaded file.
+ */
+public class ImportLineError {
+    private long line;
+    private String message;
+
+    public ImportLineError() {
+    }
+
+    public ImportLineError(long line, String message) {
+        this.line = line;
+        this.message = message;
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    public void setLine(long line) {
+        this.line = line;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,58 @@
+package com.expenseops.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque keyset position: the sort timestamp and id of the last row on a page.
+ * The next page seeks to rows strictly after (timestamp, id) in descending order.
+ */
+public class PageCursor {
+
+    // Seek position for the first page: sorts after every real row
+    public static final PageCursor FIRST = new PageCursor(
+            OffsetDateTime.of(9999, 12, 31, 0, 0, 0, 0, ZoneOffset.UTC),
+            new UUID(-1L, -1L));
+
+    private final OffsetDateTime timestamp;
+    private final UUID id;
+
+    public PageCursor(OffsetDateTime timestamp, UUID id) {
+        this.timestamp = timestamp;
+        this.id = id;
+    }
+
+    public OffsetDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String encode() {
+        String raw = timestamp.toInstant().toString() + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor from a previous response, or returns FIRST when none was given.
+     */
+    public static PageCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            OffsetDateTime timestamp = Instant.parse(raw.substring(0, sep)).atOffset(ZoneOffset.UTC);
+            return new PageCursor(timestamp, UUID.fromString(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.expenseops.dto;
+
+import com.expenseops.entity.PayoutRunStatus;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public class PayoutRunResponse {
+    private UUID id;
+    private PayoutRunStatus status;
+    private int chunkSize;
+    private long expectedCount;
+    private long processedCount;
+    private BigDecimal totalAmount;
+    private int chunksCompleted;
+    private Double expensesPerSecond;
+    private String createdByName;
+    private OffsetDateTime cutoff;
+    private OffsetDateTime createdAt;
+    private OffsetDateTime startedAt;
+    private OffsetDateTime finishedAt;
+    private String lastError;
+
+    public PayoutRunResponse() {
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public PayoutRunStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(PayoutRunStatus status) {
+        this.status = status;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public long getExpectedCount() {
+        return expectedCount;
+    }
+
+    public void setExpectedCount(long expectedCount) {
+        this.expectedCount = expectedCount;
+    }
+
+    public long getProcessedCount() {
+        return processedCount;
+    }
+
+    public void setProcessedCount(long processedCount) {
+        this.processedCount = processedCount;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+
+    public int getChunksCompleted() {
+        return chunksCompleted;
+    }
+
+    public void setChunksCompleted(int chunksCompleted) {
+        this.chunksCompleted = chunksCompleted;
+    }
+
+    public Double getExpensesPerSecond() {
+        return expensesPerSecond;
+    }
+
+    public void setExpensesPerSecond(Double expensesPerSecond) {
+        this.expensesPerSecond = expensesPerSecond;
+    }
+
+    public String getCreatedByName() {
+        return createdByName;
+    }
+
+    public void setCreatedByName(String createdByName) {
+        this.createdByName = createdByName;
+    }
+
+    public OffsetDateTime getCutoff() {
+        return cutoff;
+    }
+
+    public void setCutoff(OffsetDateTime cutoff) {
+        this.cutoff = cutoff;
+    }
+
+    public OffsetDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(OffsetDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public OffsetDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(OffsetDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public OffsetDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(OffsetDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private final PayoutRunResponse response = new PayoutRunResponse();
+
+        public Builder id(UUID id) {
+            response.id = id;
+            return this;
+        }
+
+        public Builder status(PayoutRunStatus status) {
+            response.status = status;
+            return this;
+        }
+
+        public Builder chunkSize(int chunkSize) {
+            response.chunkSize = chunkSize;
+            return this;
+        }
+
+        public Builder expectedCount(long expectedCount) {
+            response.expectedCount = expectedCount;
+            return this;
+        }
+
+        public Builder processedCount(long processedCount) {
+            response.processedCount = processedCount;
+            return this;
+        }
+
+        public Builder totalAmount(BigDecimal totalAmount) {
+            response.totalAmount = totalAmount;
+            return this;
+        }
+
+        public Builder chunksCompleted(int chunksCompleted) {
+            response.chunksCompleted = chunksCompleted;
+            return this;
+        }
+
+        public Builder expensesPerSecond(Double expensesPerSecond) {
+            response.expensesPerSecond = expensesPerSecond;
+            return this;
+        }
+
+        public Builder createdByName(String createdByName) {
+            response.createdByName = createdByName;
+            return this;
+        }
+
+        public Builder cutoff(OffsetDateTime cutoff) {
+            response.cutoff = cutoff;
+            return this;
+        }
+
+        public Builder createdAt(OffsetDateTime createdAt) {
+            response.createdAt = createdAt;
+            return this;
+        }
+
+        public Builder startedAt(OffsetDateTime startedAt) {
+            response.startedAt = startedAt;
+            return this;
+        }
+
+        public Builder finishedAt(OffsetDateTime finishedAt) {
+            response.finishedAt = finishedAt;
+            return this;
+        }
+
+        public Builder lastError(String lastError) {
+            response.lastError = lastError;
+            return this;
+        }
+
+        public PayoutRunResponse build() {
+            return response;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.expenseops.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque keyset position in ranked search results: the rank and id of the last hit on a page.
+ * Ranks are deterministic for a given query, so (rank, id) seeks like PageCursor's (timestamp, id).
+ */
+public class SearchCursor {
+
+    // Seek position for the first page: sorts after every real hit
+    public static final SearchCursor FIRST = new SearchCursor(Float.MAX_VALUE, new UUID(-1L, -1L));
+
+    private final float rank;
+    private final UUID id;
+
+    public SearchCursor(float rank, UUID id) {
+        this.rank = rank;
+        this.id = id;
+    }
+
+    public float getRank() {
+        return rank;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String encode() {
+        String raw = Float.toString(rank) + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor from a previous response, or returns FIRST when none was given.
+     */
+    public static SearchCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            return new SearchCursor(Float.parseFloat(raw.substring(0, sep)), UUID.fromString(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.expenseops.dto;
+
+import com.expenseops.entity.ExpenseStatus;
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.UUID;
+
+public class SpendRollupResponse {
+    private YearMonth month;
+    private UUID categoryId;
+    private String categoryName;
+    private String categoryIcon;
+    private String department;
+    private ExpenseStatus status;
+    private long expenseCount;
+    private BigDecimal totalAmount;
+
+    public SpendRollupResponse() {
+    }
+
+    public YearMonth getMonth() {
+        return month;
+    }
+
+    public void setMonth(YearMonth month) {
+        this.month = month;
+    }
+
+    public UUID getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(UUID categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public String getCategoryName() {
+        return categoryName;
+    }
+
+    public void setCategoryName(String categoryName) {
+        this.categoryName = categoryName;
+    }
+
+    public String getCategoryIcon() {
+        return categoryIcon;
+    }
+
+    public void setCategoryIcon(String categoryIcon) {
+        this.categoryIcon = categoryIcon;
+    }
+
+    public String getDepartment() {
+        return department;
+    }
+
+    public void setDepartment(String department) {
+        this.department = department;
+    }
+
+    public ExpenseStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ExpenseStatus status) {
+        this.status = status;
+    }
+
+    public long getExpenseCount() {
+        return expenseCount;
+    }
+
+    public void setExpenseCount(long expenseCount) {
+        this.expenseCount = expenseCount;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private final SpendRollupResponse response = new SpendRollupResponse();
+
+        public Builder month(YearMonth month) {
+            response.month = month;
+            return this;
+        }
+
+        public Builder categoryId(UUID categoryId) {
+            response.categoryId = categoryId;
+            return this;
+        }
+
+        public Builder categoryName(String categoryName) {
+            response.categoryName = categoryName;
+            return this;
+        }
+
+        public Builder categoryIcon(String categoryIcon) {
+            response.categoryIcon = categoryIcon;
+            return this;
+        }
+
+        public Builder department(String department) {
+            response.department = department;
+            return this;
+        }
+
+        public Builder status(ExpenseStatus status) {
+            response.status = status;
+            return this;
+        }
+
+        public Builder expenseCount(long expenseCount) {
+            response.expenseCount = expenseCount;
+            return this;
+        }
+
+        public Builder totalAmount(BigDecimal totalAmount) {
+            response.totalAmount = totalAmount;
+            return this;
+        }
+
+        public SpendRollupResponse build() {
+            return response;
+        }
+    }
+}
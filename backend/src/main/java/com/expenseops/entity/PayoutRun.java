@@ -0,0 +1,218 @@
+package com.expenseops.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * A batched reimbursement of a tenant's APPROVED expenses, processed chunk by chunk by PayoutRunService.
+ */
+@Entity
+@Table(name = "payout_runs")
+public class PayoutRun {
+
+    @Id
+    private UUID id;
+
+    @Column(name = "tenant_id", nullable = false)
+    private UUID tenantId;
+
+    @Column(name = "created_by_id", nullable = false)
+    private UUID createdById;
+
+    @Column(name = "created_by_name", nullable = false, length = 100)
+    private String createdByName;
+
+    @Column(nullable = false, length = 20)
+    private String status = "PENDING";
+
+    @Column(name = "chunk_size", nullable = false)
+    private Integer chunkSize;
+
+    // Only expenses created at or before this instant belong to the run
+    @Column(nullable = false)
+    private OffsetDateTime cutoff;
+
+    @Column(name = "expected_count", nullable = false)
+    private Long expectedCount;
+
+    @Column(name = "processed_count", nullable = false)
+    private Long processedCount;
+
+    @Column(name = "total_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalAmount;
+
+    @Column(name = "chunks_completed", nullable = false)
+    private Integer chunksCompleted;
+
+    // Keyset position of the last expense paid; null before the first chunk
+    @Column(name = "cursor_created_at")
+    private OffsetDateTime cursorCreatedAt;
+
+    @Column(name = "cursor_id")
+    private UUID cursorId;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private OffsetDateTime createdAt;
+
+    @Column(name = "started_at")
+    private OffsetDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private OffsetDateTime finishedAt;
+
+    @Column(name = "updated_at")
+    private OffsetDateTime updatedAt;
+
+    public PayoutRun() {
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public UUID getTenantId() {
+        return tenantId;
+    }
+
+    public void setTenantId(UUID tenantId) {
+        this.tenantId = tenantId;
+    }
+
+    public UUID getCreatedById() {
+        return createdById;
+    }
+
+    public void setCreatedById(UUID createdById) {
+        this.createdById = createdById;
+    }
+
+    public String getCreatedByName() {
+        return createdByName;
+    }
+
+    public void setCreatedByName(String createdByName) {
+        this.createdByName = createdByName;
+    }
+
+    public PayoutRunStatus getStatus() {
+        return PayoutRunStatus.valueOf(status);
+    }
+
+    public void setStatus(PayoutRunStatus status) {
+        this.status = status.name();
+    }
+
+    public Integer getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(Integer chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public OffsetDateTime getCutoff() {
+        return cutoff;
+    }
+
+    public void setCutoff(OffsetDateTime cutoff) {
+        this.cutoff = cutoff;
+    }
+
+    public Long getExpectedCount() {
+        return expectedCount;
+    }
+
+    public void setExpectedCount(Long expectedCount) {
+        this.expectedCount = expectedCount;
+    }
+
+    public Long getProcessedCount() {
+        return processedCount;
+    }
+
+    public void setProcessedCount(Long processedCount) {
+        this.processedCount = processedCount;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+
+    public Integer getChunksCompleted() {
+        return chunksCompleted;
+    }
+
+    public void setChunksCompleted(Integer chunksCompleted) {
+        this.chunksCompleted = chunksCompleted;
+    }
+
+    public OffsetDateTime getCursorCreatedAt() {
+        return cursorCreatedAt;
+    }
+
+    public void setCursorCreatedAt(OffsetDateTime cursorCreatedAt) {
+        this.cursorCreatedAt = cursorCreatedAt;
+    }
+
+    public UUID getCursorId() {
+        return cursorId;
+    }
+
+    public void setCursorId(UUID cursorId) {
+        this.cursorId = cursorId;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public OffsetDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(OffsetDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public OffsetDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(OffsetDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public OffsetDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(OffsetDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public OffsetDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(OffsetDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,9 @@
+package com.expenseops.entity;
+
+public enum PayoutRunStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    CANCELLED
+}
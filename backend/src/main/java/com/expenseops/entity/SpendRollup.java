@@ -0,0 +1,85 @@
+package com.expenseops.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Running count and total of expenses in one (tenant, month, category, department, status) bucket.
+ * Rows are only written through the upserts in SpendRollupRepository.
+ */
+@Entity
+@Table(name = "spend_rollups")
+public class SpendRollup {
+
+    @Id
+    private UUID id;
+
+    @Column(name = "tenant_id", nullable = false)
+    private UUID tenantId;
+
+    @Column(name = "category_id", nullable = false)
+    private UUID categoryId;
+
+    // Empty string when the submitter has no department
+    @Column(nullable = false, length = 100)
+    private String department;
+
+    // First day of the month
+    @Column(nullable = false)
+    private LocalDate month;
+
+    @Column(nullable = false, length = 20)
+    private String status;
+
+    @Column(name = "expense_count", nullable = false)
+    private Long expenseCount;
+
+    @Column(name = "total_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalAmount;
+
+    @Column(name = "updated_at")
+    private OffsetDateTime updatedAt;
+
+    public SpendRollup() {
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public UUID getTenantId() {
+        return tenantId;
+    }
+
+    public UUID getCategoryId() {
+        return categoryId;
+    }
+
+    public String getDepartment() {
+        return department;
+    }
+
+    public LocalDate getMonth() {
+        return month;
+    }
+
+    public ExpenseStatus getStatus() {
+        return ExpenseStatus.valueOf(status);
+    }
+
+    public Long getExpenseCount() {
+        return expenseCount;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public OffsetDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
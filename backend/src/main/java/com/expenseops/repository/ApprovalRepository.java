@@ -1,6 +1,7 @@
 package com.expenseops.repository;
 
 import com.expenseops.entity.Approval;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -9,6 +10,7 @@ import java.util.UUID;
 
 @Repository
 public interface ApprovalRepository extends JpaRepository<Approval, UUID> {
+    @EntityGraph(attributePaths = { "actor" })
     List<Approval> findByExpenseIdOrderByCreatedAtAsc(UUID expenseId);
 
     List<Approval> findByTenantIdOrderByCreatedAtDesc(UUID tenantId);
@@ -1,15 +1,56 @@
 package com.expenseops.repository;
 
 import com.expenseops.entity.AuditLog;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface AuditLogRepository extends JpaRepository<AuditLog, UUID> {
-    List<AuditLog> findByEntityTypeAndEntityIdOrderByCreatedAtDesc(String entityType, UUID entityId);
 
-    List<AuditLog> findByTenantIdOrderByCreatedAtDesc(UUID tenantId);
+    // Keyset pages newest first: rows strictly after (createdAt, id) and no older than :from.
+    // audit_logs is partitioned by month on created_at, so the :from bound also skips whole partitions.
+    // Pass Pageable.ofSize(n) to bound the page without a count query; the actor is fetch-joined for its name.
+
+    @EntityGraph(attributePaths = { "actor" })
+    @Query("SELECT a FROM AuditLog a WHERE a.tenant.id = :tenantId AND a.createdAt >= :from "
+            + "AND (a.createdAt < :createdAt OR (a.createdAt = :createdAt AND a.id < :id)) "
+            + "ORDER BY a.createdAt DESC, a.id DESC")
+    List<AuditLog> findTenantPage(@Param("tenantId") UUID tenantId, @Param("from") OffsetDateTime from,
+            @Param("createdAt") OffsetDateTime createdAt, @Param("id") UUID id, Pageable pageable);
+
+    @EntityGraph(attributePaths = { "actor" })
+    @Query("SELECT a FROM AuditLog a WHERE a.tenant.id = :tenantId AND a.actor.id = :actorId "
+            + "AND a.createdAt >= :from "
+            + "AND (a.createdAt < :createdAt OR (a.createdAt = :createdAt AND a.id < :id)) "
+            + "ORDER BY a.createdAt DESC, a.id DESC")
+    List<AuditLog> findActorPage(@Param("tenantId") UUID tenantId, @Param("actorId") UUID actorId,
+            @Param("from") OffsetDateTime from, @Param("createdAt") OffsetDateTime createdAt, @Param("id") UUID id,
+            Pageable pageable);
+
+    @EntityGraph(attributePaths = { "actor" })
+    @Query("SELECT a FROM AuditLog a WHERE a.tenant.id = :tenantId AND a.entityType = :entityType "
+            + "AND a.entityId = :entityId AND a.createdAt >= :from "
+            + "AND (a.createdAt < :createdAt OR (a.createdAt = :createdAt AND a.id < :id)) "
+            + "ORDER BY a.createdAt DESC, a.id DESC")
+    List<AuditLog> findEntityPage(@Param("tenantId") UUID tenantId, @Param("entityType") String entityType,
+            @Param("entityId") UUID entityId, @Param("from") OffsetDateTime from,
+            @Param("createdAt") OffsetDateTime createdAt, @Param("id") UUID id, Pageable pageable);
+
+    // One entity's history is short, so this uses the entity index and checks the actor on the way
+    @EntityGraph(attributePaths = { "actor" })
+    @Query("SELECT a FROM AuditLog a WHERE a.tenant.id = :tenantId AND a.entityType = :entityType "
+            + "AND a.entityId = :entityId AND a.actor.id = :actorId AND a.createdAt >= :from "
+            + "AND (a.createdAt < :createdAt OR (a.createdAt = :createdAt AND a.id < :id)) "
+            + "ORDER BY a.createdAt DESC, a.id DESC")
+    List<AuditLog> findEntityActorPage(@Param("tenantId") UUID tenantId, @Param("entityType") String entityType,
+            @Param("entityId") UUID entityId, @Param("actorId") UUID actorId, @Param("from") OffsetDateTime from,
+            @Param("createdAt") OffsetDateTime createdAt, @Param("id") UUID id, Pageable pageable);
 }
@@ -1,9 +1,17 @@
 package com.expenseops.repository;
 
+import com.expenseops.dto.ExpenseExportRow;
 import com.expenseops.entity.Expense;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -11,25 +19,304 @@ import java.util.UUID;
 @Repository
 public interface ExpenseRepository extends JpaRepository<Expense, UUID> {
 
-    // User's own expenses
-    List<Expense> findByUserIdAndTenantIdOrderByCreatedAtDesc(UUID userId, UUID tenantId);
-
-    // By tenant (for managers/finance)
-    List<Expense> findByTenantIdOrderByCreatedAtDesc(UUID tenantId);
-
-    // By status within tenant
-    List<Expense> findByTenantIdAndStatusOrderByCreatedAtDesc(UUID tenantId, String status);
-
     // Find specific expense with tenant check
+    @EntityGraph(attributePaths = { "user", "category" })
     Optional<Expense> findByIdAndTenantId(UUID id, UUID tenantId);
 
-    // Pending approvals (for managers) - not owned by the requester
-    List<Expense> findByTenantIdAndStatusAndUserIdNot(UUID tenantId, String status, UUID userId);
-
     // Count by status
     long countByTenantIdAndStatus(UUID tenantId, String status);
 
-    // Approval History (Approved, Rejected, Reimbursed)
-    List<Expense> findByTenantIdAndStatusInOrderByUpdatedAtDesc(UUID tenantId,
-            List<String> statuses);
+    // Per-tenant, per-status counts in one pass, for seeding and reconciling in-memory counters
+    interface StatusCount {
+        UUID getTenantId();
+
+        String getStatus();
+
+        long getCount();
+    }
+
+    @Query("SELECT e.tenant.id AS tenantId, e.status AS status, count(e) AS count FROM Expense e "
+            + "WHERE e.tenant.id IN :tenantIds GROUP BY e.tenant.id, e.status")
+    List<StatusCount> countByStatusForTenants(@Param("tenantIds") Collection<UUID> tenantIds);
+
+    // Oldest waiting expense per tenant, for the backlog age gauges
+    interface BacklogHead {
+        UUID getTenantId();
+
+        String getStatus();
+
+        OffsetDateTime getOldest();
+    }
+
+    @Query("SELECT e.tenant.id AS tenantId, e.status AS status, "
+            + "min(CASE WHEN e.status = 'SUBMITTED' THEN coalesce(e.submittedAt, e.updatedAt) "
+            + "ELSE coalesce(e.approvedAt, e.updatedAt) END) AS oldest "
+            + "FROM Expense e WHERE e.status IN ('SUBMITTED', 'APPROVED') GROUP BY e.tenant.id, e.status")
+    List<BacklogHead> findBacklogHeads();
+
+    // Keyset pages: rows strictly after (createdAt/updatedAt, id) in descending order.
+    // Pass Pageable.ofSize(n) to bound the page without a count query.
+    // User and category are fetch-joined so mapping a page to responses is a single statement.
+
+    @EntityGraph(attributePaths = { "user", "category" })
+    @Query("SELECT e FROM Expense e WHERE e.user.id = :userId AND e.tenant.id = :tenantId "
+            + "AND (e.createdAt < :createdAt OR (e.createdAt = :createdAt AND e.id < :id)) "
+            + "ORDER BY e.createdAt DESC, e.id DESC")
+    List<Expense> findUserPage(@Param("userId") UUID userId, @Param("tenantId") UUID tenantId,
+            @Param("createdAt") OffsetDateTime createdAt, @Param("id") UUID id, Pageable pageable);
+
+    @EntityGraph(attributePaths = { "user", "category" })
+    @Query("SELECT e FROM Expense e WHERE e.tenant.id = :tenantId AND e.status = :status "
+            + "AND (e.createdAt < :createdAt OR (e.createdAt = :createdAt AND e.id < :id)) "
+            + "ORDER BY e.createdAt DESC, e.id DESC")
+    List<Expense> findStatusPage(@Param("tenantId") UUID tenantId, @Param("status") String status,
+            @Param("createdAt") OffsetDateTime createdAt, @Param("id") UUID id, Pageable pageable);
+
+    @EntityGraph(attributePaths = { "user", "category" })
+    @Query("SELECT e FROM Expense e WHERE e.tenant.id = :tenantId AND e.status = :status "
+            + "AND e.user.id <> :userId "
+            + "AND (e.createdAt < :createdAt OR (e.createdAt = :createdAt AND e.id < :id)) "
+            + "ORDER BY e.createdAt DESC, e.id DESC")
+    List<Expense> findStatusPageExcludingUser(@Param("tenantId") UUID tenantId, @Param("status") String status,
+            @Param("userId") UUID userId, @Param("createdAt") OffsetDateTime createdAt, @Param("id") UUID id,
+            Pageable pageable);
+
+    // What decides whether a cached serialization of an expense is still current
+    interface ExpenseJsonKey {
+        UUID getId();
+
+        Integer getVersion();
+
+        String getStatus();
+
+        OffsetDateTime getUpdatedAt();
+
+        String getUserName();
+
+        String getUserDepartment();
+
+        String getCategoryName();
+
+        String getCategoryIcon();
+    }
+
+    // Approval history keyset page by updatedAt, returning only the keys; expenses missing from the JSON cache are
+    // loaded after. The statuses are literals so the planner can use the partial idx_expenses_tenant_history_updated.
+    @Query("SELECT e.id AS id, e.version AS version, e.status AS status, e.updatedAt AS updatedAt, "
+            + "u.name AS userName, u.department AS userDepartment, c.name AS categoryName, c.icon AS categoryIcon "
+            + "FROM Expense e JOIN e.user u JOIN e.category c "
+            + "WHERE e.tenant.id = :tenantId AND e.status IN ('APPROVED', 'REJECTED', 'REIMBURSED') "
+            + "AND (e.updatedAt < :updatedAt OR (e.updatedAt = :updatedAt AND e.id < :id)) "
+            + "ORDER BY e.updatedAt DESC, e.id DESC")
+    List<ExpenseJsonKey> findHistoryKeysByUpdatedAt(@Param("tenantId") UUID tenantId,
+            @Param("updatedAt") OffsetDateTime updatedAt, @Param("id") UUID id, Pageable pageable);
+
+    // Export chunks: flat rows (no managed entities) created at or after :from, keyset-paged like the lists above
+    @Query("SELECT new com.expenseops.dto.ExpenseExportRow(e.id, e.expenseDate, e.title, e.description, c.name, "
+            + "e.amount, e.status, u.name, u.department, e.createdAt, e.submittedAt, e.approvedAt, e.approvedByName, "
+            + "e.reimbursedAt, e.reimbursedByName, e.rejectionReason, e.receiptUrl) "
+            + "FROM Expense e JOIN e.user u JOIN e.category c "
+            + "WHERE e.tenant.id = :tenantId AND e.status IN :statuses AND e.createdAt >= :from "
+            + "AND (e.createdAt < :createdAt OR (e.createdAt = :createdAt AND e.id < :id)) "
+            + "ORDER BY e.createdAt DESC, e.id DESC")
+    List<ExpenseExportRow> findExportPage(@Param("tenantId") UUID tenantId, @Param("statuses") List<String> statuses,
+            @Param("from") OffsetDateTime from, @Param("createdAt") OffsetDateTime createdAt, @Param("id") UUID id,
+            Pageable pageable);
+
+    // Full-text search hit: id and ts_rank of a matching expense
+    interface SearchHit {
+        UUID getId();
+
+        Float getRank();
+    }
+
+    // Ranked search over expense_search_vector(title, description), which is GIN-indexed as an expression, keyset-paged
+    // on (rank, id).
+    // ownOnly limits hits to the caller's expenses; otherwise other users' drafts are still excluded.
+    @Query(value = "SELECT r.id AS id, r.rank AS rank FROM ("
+            + "SELECT e.id, ts_rank(expense_search_vector(e.title, e.description), q) AS rank "
+            + "FROM expenses e, websearch_to_tsquery('english', :query) q "
+            + "WHERE e.tenant_id = :tenantId AND expense_search_vector(e.title, e.description) @@ q "
+            + "AND (e.user_id = :userId OR (:ownOnly = false AND e.status <> 'DRAFT'))) r "
+            + "WHERE r.rank < CAST(:rank AS real) OR (r.rank = CAST(:rank AS real) AND r.id < :id) "
+            + "ORDER BY r.rank DESC, r.id DESC LIMIT :limit", nativeQuery = true)
+    List<SearchHit> searchPage(@Param("tenantId") UUID tenantId, @Param("userId") UUID userId,
+            @Param("ownOnly") boolean ownOnly, @Param("query") String query, @Param("rank") float rank,
+            @Param("id") UUID id, @Param("limit") int limit);
+
+    @EntityGraph(attributePaths = { "user", "category" })
+    List<Expense> findByIdIn(Collection<UUID> ids);
+
+    interface PayoutCandidate {
+        UUID getId();
+
+        OffsetDateTime getCreatedAt();
+
+        BigDecimal getAmount();
+    }
+
+    // A payout run covers the expenses already APPROVED at its cutoff; rows without approved_at count as approved
+    // when they were created
+    @Query("SELECT count(e) FROM Expense e WHERE e.tenant.id = :tenantId AND e.status = 'APPROVED' "
+            + "AND coalesce(e.approvedAt, e.createdAt) <= :cutoff")
+    long countPayable(@Param("tenantId") UUID tenantId, @Param("cutoff") OffsetDateTime cutoff);
+
+    // Next chunk of a payout run: expenses approved up to the run's cutoff, keyset-paged newest first
+    @Query("SELECT e.id AS id, e.createdAt AS createdAt, e.amount AS amount FROM Expense e "
+            + "WHERE e.tenant.id = :tenantId AND e.status = 'APPROVED' "
+            + "AND coalesce(e.approvedAt, e.createdAt) <= :cutoff "
+            + "AND (e.createdAt < :createdAt OR (e.createdAt = :createdAt AND e.id < :id)) "
+            + "ORDER BY e.createdAt DESC, e.id DESC")
+    List<PayoutCandidate> findPayoutChunk(@Param("tenantId") UUID tenantId, @Param("cutoff") OffsetDateTime cutoff,
+            @Param("createdAt") OffsetDateTime createdAt, @Param("id") UUID id, Pageable pageable);
+
+    interface ExpenseState {
+        UUID getId();
+
+        String getStatus();
+
+        UUID getUserId();
+    }
+
+    @Query("SELECT e.id AS id, e.status AS status, e.user.id AS userId FROM Expense e "
+            + "WHERE e.tenant.id = :tenantId AND e.id IN :ids")
+    List<ExpenseState> findStates(@Param("tenantId") UUID tenantId, @Param("ids") Collection<UUID> ids);
+
+    // Shared tail of the bulk transition statements below. Each one starts with a "moved" CTE whose
+    // UPDATE ... RETURNING yields (id, user_id, category_id, amount, month, from_status, to_status, comment);
+    // the tail records one approval per moved row and shifts the rows between spend_rollups buckets,
+    // all in the same statement, and returns the moved ids.
+    String BULK_TRANSITION_TAIL = ", history AS ("
+            + "INSERT INTO approvals (id, tenant_id, expense_id, actor_id, action, comment, created_at) "
+            + "SELECT gen_random_uuid(), :tenantId, m.id, :actorId, m.to_status, m.comment, now() FROM moved m), "
+            + "rollups AS ("
+            + "INSERT INTO spend_rollups (id, tenant_id, category_id, department, month, status, "
+            + "expense_count, total_amount, updated_at) "
+            + "SELECT gen_random_uuid(), :tenantId, m.category_id, COALESCE(u.department, ''), m.month, s.status, "
+            + "s.sign * count(*), s.sign * sum(m.amount), now() "
+            + "FROM moved m JOIN users u ON u.id = m.user_id "
+            + "CROSS JOIN LATERAL (VALUES (m.from_status, -1), (m.to_status, 1)) AS s(status, sign) "
+            + "GROUP BY m.category_id, COALESCE(u.department, ''), m.month, s.status, s.sign "
+            + "ON CONFLICT (tenant_id, month, category_id, department, status) DO UPDATE SET "
+            + "expense_count = spend_rollups.expense_count + EXCLUDED.expense_count, "
+            + "total_amount = spend_rollups.total_amount + EXCLUDED.total_amount, "
+            + "updated_at = now()) "
+            + "SELECT m.id FROM moved m";
+
+    String BULK_TRANSITION_RETURNING = "RETURNING e.id, e.user_id, e.category_id, e.amount, "
+            + "CAST(date_trunc('month', COALESCE(e.expense_date, CAST(e.created_at AS DATE))) AS DATE) AS month, "
+            + "CAST(:fromStatus AS VARCHAR) AS from_status, e.status AS to_status, ";
+
+    @Query(value = "WITH moved AS (UPDATE expenses e SET status = 'APPROVED', approved_at = now(), "
+            + "approved_by_id = :actorId, approved_by_name = :actorName, updated_at = now(), version = e.version + 1 "
+            + "WHERE e.tenant_id = :tenantId AND e.id IN (:ids) AND e.status = :fromStatus AND e.user_id <> :actorId "
+            + BULK_TRANSITION_RETURNING + "CAST(NULL AS TEXT) AS comment)"
+            + BULK_TRANSITION_TAIL, nativeQuery = true)
+    List<UUID> bulkApprove(@Param("tenantId") UUID tenantId, @Param("ids") Collection<UUID> ids,
+            @Param("fromStatus") String fromStatus, @Param("actorId") UUID actorId,
+            @Param("actorName") String actorName);
+
+    @Query(value = "WITH moved AS (UPDATE expenses e SET status = 'REJECTED', rejection_reason = :reason, "
+            + "updated_at = now(), version = e.version + 1 "
+            + "WHERE e.tenant_id = :tenantId AND e.id IN (:ids) AND e.status = :fromStatus AND e.user_id <> :actorId "
+            + BULK_TRANSITION_RETURNING + "e.rejection_reason AS comment)"
+            + BULK_TRANSITION_TAIL, nativeQuery = true)
+    List<UUID> bulkReject(@Param("tenantId") UUID tenantId, @Param("ids") Collection<UUID> ids,
+            @Param("fromStatus") String fromStatus, @Param("actorId") UUID actorId,
+            @Param("reason") String reason);
+
+    @Query(value = "WITH moved AS (UPDATE expenses e SET status = 'REIMBURSED', reimbursed_at = now(), "
+            + "reimbursed_by_id = :actorId, reimbursed_by_name = :actorName, updated_at = now(), "
+            + "version = e.version + 1 "
+            + "WHERE e.tenant_id = :tenantId AND e.id IN (:ids) AND e.status = :fromStatus "
+            + BULK_TRANSITION_RETURNING + "CAST(NULL AS TEXT) AS comment)"
+            + BULK_TRANSITION_TAIL, nativeQuery = true)
+    List<UUID> bulkReimburse(@Param("tenantId") UUID tenantId, @Param("ids") Collection<UUID> ids,
+            @Param("fromStatus") String fromStatus, @Param("actorId") UUID actorId,
+            @Param("actorName") String actorName);
+
+    interface SummaryRow {
+        long getDraftCount();
+
+        long getSubmittedCount();
+
+        long getApprovedCount();
+
+        long getRejectedCount();
+
+        long getReimbursedCount();
+
+        BigDecimal getMyTotalAmount();
+
+        BigDecimal getMyPendingAmount();
+
+        BigDecimal getMyApprovedAmount();
+
+        BigDecimal getMyRejectedAmount();
+
+        long getPendingApprovalCount();
+
+        BigDecimal getPendingApprovalAmount();
+
+        long getAwaitingReimbursementCount();
+
+        BigDecimal getAwaitingReimbursementAmount();
+
+        // JSON arrays of ExpensePreview objects
+        String getRecentExpenses();
+
+        String getPendingApprovals();
+
+        String getAwaitingReimbursement();
+    }
+
+    // Dashboard summary in one statement: FILTER aggregates over the caller's expenses plus, when allowed,
+    // the tenant's pending approvals and approved-for-reimbursement queues, with newest-first previews of each.
+    // Every branch is served by idx_expenses_user_created or idx_expenses_tenant_status_created.
+    @Query(value = "WITH scoped AS ("
+            + "SELECT e.user_id, e.status, e.amount FROM expenses e "
+            + "WHERE e.tenant_id = :tenantId AND (e.user_id = :userId "
+            + "OR (:approver AND e.status = 'SUBMITTED' AND e.user_id <> :userId) "
+            + "OR (:finance AND e.status = 'APPROVED'))) "
+            + "SELECT "
+            + "count(*) FILTER (WHERE s.user_id = :userId AND s.status = 'DRAFT') AS draftCount, "
+            + "count(*) FILTER (WHERE s.user_id = :userId AND s.status = 'SUBMITTED') AS submittedCount, "
+            + "count(*) FILTER (WHERE s.user_id = :userId AND s.status = 'APPROVED') AS approvedCount, "
+            + "count(*) FILTER (WHERE s.user_id = :userId AND s.status = 'REJECTED') AS rejectedCount, "
+            + "count(*) FILTER (WHERE s.user_id = :userId AND s.status = 'REIMBURSED') AS reimbursedCount, "
+            + "coalesce(sum(s.amount) FILTER (WHERE s.user_id = :userId), 0) AS myTotalAmount, "
+            + "coalesce(sum(s.amount) FILTER (WHERE s.user_id = :userId AND s.status = 'SUBMITTED'), 0) "
+            + "AS myPendingAmount, "
+            + "coalesce(sum(s.amount) FILTER (WHERE s.user_id = :userId AND s.status IN ('APPROVED', 'REIMBURSED')), 0) "
+            + "AS myApprovedAmount, "
+            + "coalesce(sum(s.amount) FILTER (WHERE s.user_id = :userId AND s.status = 'REJECTED'), 0) "
+            + "AS myRejectedAmount, "
+            + "count(*) FILTER (WHERE s.user_id <> :userId AND s.status = 'SUBMITTED') AS pendingApprovalCount, "
+            + "coalesce(sum(s.amount) FILTER (WHERE s.user_id <> :userId AND s.status = 'SUBMITTED'), 0) "
+            + "AS pendingApprovalAmount, "
+            + "count(*) FILTER (WHERE :finance AND s.status = 'APPROVED') AS awaitingReimbursementCount, "
+            + "coalesce(sum(s.amount) FILTER (WHERE :finance AND s.status = 'APPROVED'), 0) "
+            + "AS awaitingReimbursementAmount, "
+            + "(SELECT CAST(coalesce(json_agg(p), '[]') AS text) FROM ("
+            + "SELECT e.id, e.title, e.amount, e.status, u.name AS \"userName\", c.name AS \"categoryName\", "
+            + "c.icon AS \"categoryIcon\", e.created_at AS \"createdAt\" "
+            + "FROM expenses e JOIN users u ON u.id = e.user_id JOIN categories c ON c.id = e.category_id "
+            + "WHERE e.user_id = :userId AND e.tenant_id = :tenantId "
+            + "ORDER BY e.created_at DESC, e.id DESC LIMIT :previewSize) p) AS recentExpenses, "
+            + "(SELECT CAST(coalesce(json_agg(p), '[]') AS text) FROM ("
+            + "SELECT e.id, e.title, e.amount, e.status, u.name AS \"userName\", c.name AS \"categoryName\", "
+            + "c.icon AS \"categoryIcon\", e.created_at AS \"createdAt\" "
+            + "FROM expenses e JOIN users u ON u.id = e.user_id JOIN categories c ON c.id = e.category_id "
+            + "WHERE :approver AND e.tenant_id = :tenantId AND e.status = 'SUBMITTED' AND e.user_id <> :userId "
+            + "ORDER BY e.created_at DESC, e.id DESC LIMIT :previewSize) p) AS pendingApprovals, "
+            + "(SELECT CAST(coalesce(json_agg(p), '[]') AS text) FROM ("
+            + "SELECT e.id, e.title, e.amount, e.status, u.name AS \"userName\", c.name AS \"categoryName\", "
+            + "c.icon AS \"categoryIcon\", e.created_at AS \"createdAt\" "
+            + "FROM expenses e JOIN users u ON u.id = e.user_id JOIN categories c ON c.id = e.category_id "
+            + "WHERE :finance AND e.tenant_id = :tenantId AND e.status = 'APPROVED' "
+            + "ORDER BY e.created_at DESC, e.id DESC LIMIT :previewSize) p) AS awaitingReimbursement "
+            + "FROM scoped s", nativeQuery = true)
+    SummaryRow getSummary(@Param("tenantId") UUID tenantId, @Param("userId") UUID userId,
+            @Param("approver") boolean approver, @Param("finance") boolean finance,
+            @Param("previewSize") int previewSize);
 }
@@ -0,0 +1,34 @@
+package com.expenseops.repository;
+
+import com.expenseops.entity.PayoutRun;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface PayoutRunRepository extends JpaRepository<PayoutRun, UUID> {
+
+    Optional<PayoutRun> findByIdAndTenantId(UUID id, UUID tenantId);
+
+    List<PayoutRun> findTop50ByTenantIdOrderByCreatedAtDesc(UUID tenantId);
+
+    boolean existsByTenantIdAndStatusIn(UUID tenantId, Collection<String> statuses);
+
+    List<PayoutRun> findByStatusIn(Collection<String> statuses);
+
+    List<PayoutRun> findByStatusInAndUpdatedAtBefore(Collection<String> statuses, OffsetDateTime updatedAt);
+
+    // Row lock held for one chunk, so chunks of the same run never overlap even if two workers pick it up
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM PayoutRun r WHERE r.id = :id")
+    Optional<PayoutRun> findForUpdate(@Param("id") UUID id);
+}
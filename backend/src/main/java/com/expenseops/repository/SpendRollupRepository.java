@@ -0,0 +1,53 @@
+package com.expenseops.repository;
+
+import com.expenseops.entity.SpendRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface SpendRollupRepository extends JpaRepository<SpendRollup, UUID> {
+
+    // Non-empty buckets for a tenant between two month starts (inclusive)
+    @Query("SELECT r FROM SpendRollup r WHERE r.tenantId = :tenantId AND r.month BETWEEN :from AND :to "
+            + "AND r.expenseCount <> 0 ORDER BY r.month, r.categoryId, r.department, r.status")
+    List<SpendRollup> findBuckets(@Param("tenantId") UUID tenantId, @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+
+    // Adds (or, with negative values, subtracts) a delta to one bucket, creating it on first use
+    @Modifying
+    @Query(value = "INSERT INTO spend_rollups (id, tenant_id, category_id, department, month, status, "
+            + "expense_count, total_amount, updated_at) "
+            + "VALUES (gen_random_uuid(), :tenantId, :categoryId, :department, :month, :status, :count, :amount, now()) "
+            + "ON CONFLICT (tenant_id, month, category_id, department, status) DO UPDATE SET "
+            + "expense_count = spend_rollups.expense_count + EXCLUDED.expense_count, "
+            + "total_amount = spend_rollups.total_amount + EXCLUDED.total_amount, "
+            + "updated_at = now()", nativeQuery = true)
+    void applyDelta(@Param("tenantId") UUID tenantId, @Param("categoryId") UUID categoryId,
+            @Param("department") String department, @Param("month") LocalDate month,
+            @Param("status") String status, @Param("count") long count, @Param("amount") BigDecimal amount);
+
+    // Adds sign * (all of a user's expenses) to the given department's buckets, in one statement
+    @Modifying
+    @Query(value = "INSERT INTO spend_rollups (id, tenant_id, category_id, department, month, status, "
+            + "expense_count, total_amount, updated_at) "
+            + "SELECT gen_random_uuid(), e.tenant_id, e.category_id, :department, "
+            + "CAST(date_trunc('month', COALESCE(e.expense_date, CAST(e.created_at AS DATE))) AS DATE), "
+            + "e.status, :sign * count(*), :sign * sum(e.amount), now() "
+            + "FROM expenses e WHERE e.tenant_id = :tenantId AND e.user_id = :userId "
+            + "GROUP BY e.tenant_id, e.category_id, "
+            + "CAST(date_trunc('month', COALESCE(e.expense_date, CAST(e.created_at AS DATE))) AS DATE), e.status "
+            + "ON CONFLICT (tenant_id, month, category_id, department, status) DO UPDATE SET "
+            + "expense_count = spend_rollups.expense_count + EXCLUDED.expense_count, "
+            + "total_amount = spend_rollups.total_amount + EXCLUDED.total_amount, "
+            + "updated_at = now()", nativeQuery = true)
+    void applyUserExpenses(@Param("tenantId") UUID tenantId, @Param("userId") UUID userId,
+            @Param("department") String department, @Param("sign") int sign);
+}
@@ -20,5 +20,7 @@ public interface UserRepository extends JpaRepository<User, UUID> {
 
     Optional<User> findByIdAndTenantId(UUID id, UUID tenantId);
 
+    long countByTenantIdAndIsActiveTrue(UUID tenantId);
+
     boolean existsByEmailAndTenantId(String email, UUID tenantId);
 }
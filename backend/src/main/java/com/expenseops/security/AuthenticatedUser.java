@@ -0,0 +1,65 @@
+package com.expenseops.security;
+
+import com.expenseops.entity.User;
+import com.expenseops.entity.UserRole;
+
+import java.util.UUID;
+
+/**
+ * The principal of an authenticated request: an immutable snapshot of the user's identity, not a JPA entity.
+ * Services that need the User entity itself (for example to set an association) take a reference by id.
+ */
+public final class AuthenticatedUser {
+
+    private final UUID id;
+    private final UUID tenantId;
+    private final String name;
+    private final String email;
+    private final String department;
+    private final UserRole role;
+    private final boolean active;
+
+    public AuthenticatedUser(UUID id, UUID tenantId, String name, String email, String department, UserRole role,
+            boolean active) {
+        this.id = id;
+        this.tenantId = tenantId;
+        this.name = name;
+        this.email = email;
+        this.department = department;
+        this.role = role;
+        this.active = active;
+    }
+
+    public static AuthenticatedUser of(User user) {
+        return new AuthenticatedUser(user.getId(), user.getTenant().getId(), user.getName(), user.getEmail(),
+                user.getDepartment(), user.getRole(), Boolean.TRUE.equals(user.getIsActive()));
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public UUID getTenantId() {
+        return tenantId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getDepartment() {
+        return department;
+    }
+
+    public UserRole getRole() {
+        return role;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+}
@@ -1,7 +1,5 @@
 package com.expenseops.security;
 
-import com.expenseops.entity.User;
-import com.expenseops.repository.UserRepository;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -16,17 +14,19 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Collections;
-import java.util.UUID;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtils jwtUtils;
-    private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
+    private final TokenRevocationService tokenRevocationService;
 
-    public JwtAuthenticationFilter(JwtUtils jwtUtils, UserRepository userRepository) {
+    public JwtAuthenticationFilter(JwtUtils jwtUtils, PrincipalCache principalCache,
+            TokenRevocationService tokenRevocationService) {
         this.jwtUtils = jwtUtils;
-        this.userRepository = userRepository;
+        this.principalCache = principalCache;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     @Override
@@ -36,22 +36,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = extractJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && jwtUtils.validateToken(jwt)) {
-                UUID userId = jwtUtils.getUserId(jwt);
-                UUID tenantId = jwtUtils.getTenantId(jwt);
-                String role = jwtUtils.getRole(jwt);
+            VerifiedToken token = StringUtils.hasText(jwt) ? jwtUtils.verify(jwt) : null;
+            // Revoked tokens are treated like invalid ones
+            if (token != null && !tokenRevocationService.isRevoked(token)) {
+                // Cached snapshot of the user; see PrincipalCache for when it is refreshed
+                AuthenticatedUser user = principalCache.get(token.getUserId());
 
-                // Set tenant context for this request
-                TenantContext.setCurrentTenant(tenantId);
-
-                // Load user from database
-                User user = userRepository.findById(userId).orElse(null);
-
-                if (user != null && user.getIsActive()) {
-                    // Create authentication with role as authority
-                    var authority = new SimpleGrantedAuthority("ROLE_" + role);
+                if (user != null && user.isActive() && user.getTenantId().equals(token.getTenantId())) {
+                    // The current role rather than the one in the token, so role changes apply immediately
+                    var authority = new SimpleGrantedAuthority("ROLE_" + user.getRole().name());
+                    // The token is kept as credentials so logout can revoke it
                     var authentication = new UsernamePasswordAuthenticationToken(
-                            user, null, Collections.singletonList(authority));
+                            user, token, Collections.singletonList(authority));
                     authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                     SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -61,12 +57,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             logger.error("Cannot set user authentication: " + e.getMessage());
         }
 
-        try {
-            filterChain.doFilter(request, response);
-        } finally {
-            // Always clear tenant context after request
-            TenantContext.clear();
-        }
+        // Nothing to clean up: the tenant is read from the security context, which Spring Security clears
+        filterChain.doFilter(request, response);
     }
 
     private String extractJwtFromRequest(HttpServletRequest request) {
@@ -1,74 +1,120 @@
 package com.expenseops.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
 import java.util.UUID;
 
+/**
+ * Issues and verifies JWTs. The signing key and parser are built once at startup.
+ * A token is verified at most once: the resulting claims are cached under the token's SHA-256 hash until the
+ * token expires, so repeat requests with the same token skip signature checking and JSON parsing.
+ * Cache hits and misses are published as the "jwt.verified" cache metrics.
+ */
 @Component
 public class JwtUtils {
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final long jwtExpirationMs;
+    private final Cache<String, VerifiedToken> verifiedTokens;
 
-    @Value("${jwt.expiration-ms}")
-    private long jwtExpirationMs;
-
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    public JwtUtils(@Value("${jwt.secret}") String jwtSecret,
+            @Value("${jwt.expiration-ms}") long jwtExpirationMs,
+            @Value("${jwt.verified-cache-size:10000}") long verifiedCacheSize,
+            MeterRegistry meterRegistry) {
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+        this.jwtExpirationMs = jwtExpirationMs;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(new ExpireWithToken())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwt.verified");
     }
 
     public String generateToken(UUID userId, UUID tenantId, String email, String role) {
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(userId.toString())
                 .claim("tenant_id", tenantId.toString())
                 .claim("email", email)
                 .claim("role", role)
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + jwtExpirationMs))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
-    public boolean validateToken(String token) {
-        try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
+    /**
+     * Returns the token's claims, or null when it is malformed, badly signed or expired.
+     */
+    public VerifiedToken verify(String token) {
+        String key = hash(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(key);
+        if (cached != null) {
+            return cached;
         }
-    }
 
-    public Claims getClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        VerifiedToken verified;
+        try {
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            verified = new VerifiedToken(
+                    claims.getId() != null ? UUID.fromString(claims.getId()) : null,
+                    UUID.fromString(claims.getSubject()),
+                    UUID.fromString(claims.get("tenant_id", String.class)),
+                    claims.get("email", String.class),
+                    claims.get("role", String.class),
+                    claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                    claims.getExpiration().toInstant());
+        } catch (JwtException | IllegalArgumentException | NullPointerException e) {
+            return null;
+        }
+        verifiedTokens.put(key, verified);
+        return verified;
     }
 
-    public UUID getUserId(String token) {
-        return UUID.fromString(getClaims(token).getSubject());
+    // Raw tokens are never kept in memory, only their digests
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
-    public UUID getTenantId(String token) {
-        return UUID.fromString(getClaims(token).get("tenant_id", String.class));
-    }
+    // Each entry lives exactly as long as its token is valid
+    private static class ExpireWithToken implements Expiry<String, VerifiedToken> {
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+            long remainingMs = token.getExpiresAt().toEpochMilli() - System.currentTimeMillis();
+            return Math.max(0, remainingMs) * 1_000_000L;
+        }
 
-    public String getEmail(String token) {
-        return getClaims(token).get("email", String.class);
-    }
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken token, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, token, currentTime);
+        }
 
-    public String getRole(String token) {
-        return getClaims(token).get("role", String.class);
+        @Override
+        public long expireAfterRead(String key, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
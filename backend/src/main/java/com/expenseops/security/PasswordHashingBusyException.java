@@ -0,0 +1,11 @@
+package com.expenseops.security;
+
+/**
+ * Thrown when the password hashing pool is saturated; mapped to 503 so clients retry shortly.
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+
+    public PasswordHashingBusyException() {
+        super("Server is busy, please try again shortly");
+    }
+}
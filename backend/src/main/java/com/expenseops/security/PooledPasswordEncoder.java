@@ -0,0 +1,140 @@
+package com.expenseops.security;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The application's PasswordEncoder: BCrypt run on a small dedicated pool instead of the request thread.
+ * The pool has one thread per core and a bounded queue, so a burst of logins cannot occupy every request thread
+ * with hashing; once the queue is full, callers fail fast with PasswordHashingBusyException (HTTP 503).
+ * The cost is security.password.bcrypt-cost, so every instance uses the same one. Setting it to 0 calibrates it at
+ * startup to the highest cost whose hash takes no longer than target-hash-ms on this host (never below MIN_COST);
+ * a single timed hash is noisy and differs between hosts, so that is only allowed with the dev profile.
+ * upgradeEncoding reports hashes made with a lower cost so login can strengthen them; hashes are never rewritten
+ * with a lower cost.
+ */
+@Component
+public class PooledPasswordEncoder implements PasswordEncoder {
+
+    private static final Logger log = LoggerFactory.getLogger(PooledPasswordEncoder.class);
+
+    // BCryptPasswordEncoder's default; calibration never goes below it
+    private static final int MIN_COST = 10;
+    private static final int MAX_COST = 16;
+    private static final Pattern BCRYPT_COST = Pattern.compile("\\$2[abxy]?\\$(\\d\\d)\\$");
+
+    private final BCryptPasswordEncoder delegate;
+    private final int cost;
+    private final long timeoutMs;
+    private final ThreadPoolTaskExecutor executor;
+
+    public PooledPasswordEncoder(@Value("${security.password.bcrypt-cost:10}") int configuredCost,
+            @Value("${security.password.target-hash-ms:100}") long targetHashMs,
+            @Value("${security.password.threads:0}") int threads,
+            @Value("${security.password.queue-capacity:100}") int queueCapacity,
+            @Value("${security.password.timeout-ms:10000}") long timeoutMs,
+            Environment environment) {
+        if (configuredCost <= 0 && !environment.acceptsProfiles(Profiles.of("dev"))) {
+            throw new IllegalStateException("security.password.bcrypt-cost must be set explicitly; "
+                    + "calibration (0) is only allowed with the dev profile");
+        }
+        this.cost = configuredCost > 0 ? configuredCost : calibrate(targetHashMs);
+        this.delegate = new BCryptPasswordEncoder(cost);
+        this.timeoutMs = timeoutMs;
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        // Kept private rather than a bean so it does not replace Spring's default task executor
+        this.executor = new ThreadPoolTaskExecutor();
+        this.executor.setCorePoolSize(poolSize);
+        this.executor.setMaxPoolSize(poolSize);
+        this.executor.setQueueCapacity(queueCapacity);
+        this.executor.setThreadNamePrefix("bcrypt-");
+        this.executor.initialize();
+        log.info("Password hashing: BCrypt cost {}, {} thread(s), queue of {}", cost, poolSize, queueCapacity);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    public int getCost() {
+        return cost;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.lookingAt() && Integer.parseInt(matcher.group(1)) < cost;
+    }
+
+    private <T> T run(Supplier<T> hashing) {
+        Future<T> future;
+        try {
+            future = executor.submit(hashing::get);
+        } catch (TaskRejectedException e) {
+            throw new PasswordHashingBusyException();
+        }
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new PasswordHashingBusyException();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingBusyException();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    // Each extra cost step doubles the work, so one timed hash at MIN_COST predicts the others
+    private static int calibrate(long targetHashMs) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(MIN_COST);
+        probe.encode("calibration warm-up");
+        long start = System.nanoTime();
+        probe.encode("calibration");
+        double baseMs = Math.max(1.0, (System.nanoTime() - start) / 1_000_000.0);
+
+        int cost = MIN_COST;
+        while (cost < MAX_COST && baseMs * (1L << (cost + 1 - MIN_COST)) <= targetHashMs) {
+            cost++;
+        }
+        log.info("Calibrated BCrypt cost {} (cost {} took {} ms, target {} ms)", cost, MIN_COST,
+                Math.round(baseMs), targetHashMs);
+        return cost;
+    }
+}
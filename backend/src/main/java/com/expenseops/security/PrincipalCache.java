@@ -0,0 +1,64 @@
+package com.expenseops.security;
+
+import com.expenseops.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Principals of recently authenticated users, keyed by user id, so most requests skip the users lookup.
+ * Entries live for security.principal-cache-ttl-ms at most. Changes to a user's role, active flag or password
+ * must call invalidate so they apply on the user's next request rather than after the TTL.
+ */
+@Component
+public class PrincipalCache {
+
+    private final UserRepository userRepository;
+    private final Cache<UUID, AuthenticatedUser> principals;
+
+    public PrincipalCache(UserRepository userRepository,
+            @Value("${security.principal-cache-size:10000}") long maximumSize,
+            @Value("${security.principal-cache-ttl-ms:60000}") long ttlMs,
+            MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, principals, "auth.principal");
+    }
+
+    /**
+     * Returns the user's principal, loading it on a miss, or null when the user does not exist.
+     */
+    public AuthenticatedUser get(UUID userId) {
+        return principals.get(userId, id -> userRepository.findById(id)
+                .map(AuthenticatedUser::of)
+                .orElse(null));
+    }
+
+    /**
+     * Drops the user's entry now and again once the current transaction commits, so a request that reads the
+     * user while the change is still uncommitted cannot put the old state back.
+     */
+    public void invalidate(UUID userId) {
+        principals.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    principals.invalidate(userId);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.expenseops.security;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs tasks handed to Spring's application task executor (e.g. streaming export bodies) as the user who submitted
+ * them.
+ * The submitting thread's authentication is copied into a fresh security context on the worker thread, which
+ * also carries the tenant (see TenantContext), and the worker's previous context is restored when the task ends
+ * so nothing leaks into the next task on a pooled thread.
+ * Spring Boot applies a single TaskDecorator bean to its auto-configured executor.
+ */
+@Component
+public class SecurityContextTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return () -> {
+            SecurityContext previous = SecurityContextHolder.getContext();
+            SecurityContext context = SecurityContextHolder.createEmptyContext();
+            context.setAuthentication(authentication);
+            SecurityContextHolder.setContext(context);
+            try {
+                runnable.run();
+            } finally {
+                if (previous.getAuthentication() == null) {
+                    SecurityContextHolder.clearContext();
+                } else {
+                    SecurityContextHolder.setContext(previous);
+                }
+            }
+        };
+    }
+}
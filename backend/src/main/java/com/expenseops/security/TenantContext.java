@@ -1,24 +1,29 @@
 package com.expenseops.security;
 
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
 import java.util.UUID;
 
 /**
- * Thread-local context for storing the current tenant ID.
- * This is set by the JWT filter and used throughout the request lifecycle.
+ * The current tenant: that of the authenticated user the request runs as.
+ * It is read from the security context instead of being kept in a thread-local of its own, so there is nothing
+ * to set or clear per request (cheap with one short-lived virtual thread per request), and it follows the
+ * security context wherever that is propagated.
  */
-public class TenantContext {
-
-    private static final ThreadLocal<UUID> CURRENT_TENANT = new ThreadLocal<>();
+public final class TenantContext {
 
-    public static void setCurrentTenant(UUID tenantId) {
-        CURRENT_TENANT.set(tenantId);
+    private TenantContext() {
     }
 
+    /**
+     * Returns the current user's tenant, or null when the request is not authenticated.
+     */
     public static UUID getCurrentTenant() {
-        return CURRENT_TENANT.get();
-    }
-
-    public static void clear() {
-        CURRENT_TENANT.remove();
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user.getTenantId();
+        }
+        return null;
     }
 }
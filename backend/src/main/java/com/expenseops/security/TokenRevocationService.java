@@ -0,0 +1,198 @@
+package com.expenseops.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revoked JWTs, persisted in revoked_tokens / user_token_cutoffs (see V8__token_revocations.sql) and checked in
+ * memory on every request.
+ * Single tokens (logout) are looked up through a Bloom filter of their ids; only a filter hit, which is either a
+ * revoked token or a rare false positive, costs a query. Whole-user revocations (deactivation, password reset)
+ * are few, so their cutoffs are kept in a plain map.
+ * Revocations made here apply at once; those made by other instances are picked up every refresh-ms, and the
+ * filter is rebuilt every rebuild-ms so expired revocations stop taking up space.
+ */
+@Component
+public class TokenRevocationService implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    // Refreshes re-read this far back so rows committed late are not missed
+    private static final long REFRESH_OVERLAP_SECONDS = 30;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long tokenLifetimeMs;
+    private final long expectedRevocations;
+    private final Counter filterNegatives;
+    private final Counter falsePositives;
+    private final Counter revokedHits;
+
+    private volatile UuidBloomFilter revokedTokenIds;
+    private volatile Map<UUID, Instant> userCutoffs = new ConcurrentHashMap<>();
+    private volatile OffsetDateTime refreshedUpTo;
+
+    public TokenRevocationService(JdbcTemplate jdbcTemplate,
+            @Value("${jwt.expiration-ms}") long tokenLifetimeMs,
+            @Value("${security.revocation.expected-revocations:100000}") long expectedRevocations,
+            MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tokenLifetimeMs = tokenLifetimeMs;
+        this.expectedRevocations = expectedRevocations;
+        this.revokedTokenIds = new UuidBloomFilter(expectedRevocations, FALSE_POSITIVE_RATE);
+        this.filterNegatives = meterRegistry.counter("security.revocation.checks", "result", "filter_negative");
+        this.falsePositives = meterRegistry.counter("security.revocation.checks", "result", "false_positive");
+        this.revokedHits = meterRegistry.counter("security.revocation.checks", "result", "revoked");
+    }
+
+    // Runs once the schema is migrated and before the web server accepts requests
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    public boolean isRevoked(VerifiedToken token) {
+        Instant cutoff = userCutoffs.get(token.getUserId());
+        if (cutoff != null && (token.getIssuedAt() == null || !token.getIssuedAt().isAfter(cutoff))) {
+            revokedHits.increment();
+            return true;
+        }
+        UUID tokenId = token.getTokenId();
+        if (tokenId == null || !revokedTokenIds.mightContain(tokenId)) {
+            filterNegatives.increment();
+            return false;
+        }
+        Boolean revoked = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM revoked_tokens WHERE token_id = ?)", Boolean.class, tokenId);
+        if (Boolean.TRUE.equals(revoked)) {
+            revokedHits.increment();
+            return true;
+        }
+        falsePositives.increment();
+        return false;
+    }
+
+    /**
+     * Revokes one token, e.g. on logout. Tokens issued before jti was added cannot be revoked individually.
+     */
+    public void revoke(VerifiedToken token) {
+        if (token.getTokenId() == null) {
+            return;
+        }
+        jdbcTemplate.update("INSERT INTO revoked_tokens (token_id, user_id, expires_at, revoked_at) "
+                + "VALUES (?, ?, ?, now()) ON CONFLICT DO NOTHING",
+                token.getTokenId(), token.getUserId(), Timestamp.from(token.getExpiresAt()));
+        afterCommit(() -> revokedTokenIds.add(token.getTokenId()));
+    }
+
+    /**
+     * Revokes every token issued to the user up to now. JWT issue times have one-second precision, so a token
+     * issued within the same second is revoked too.
+     */
+    public void revokeAllForUser(UUID userId) {
+        Instant cutoff = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        jdbcTemplate.update("INSERT INTO user_token_cutoffs (user_id, issued_before, expires_at, revoked_at) "
+                + "VALUES (?, ?, ?, now()) ON CONFLICT (user_id) DO UPDATE SET "
+                + "issued_before = GREATEST(user_token_cutoffs.issued_before, EXCLUDED.issued_before), "
+                + "expires_at = GREATEST(user_token_cutoffs.expires_at, EXCLUDED.expires_at), revoked_at = now()",
+                userId, Timestamp.from(cutoff), Timestamp.from(cutoff.plusMillis(tokenLifetimeMs)));
+        afterCommit(() -> userCutoffs.merge(userId, cutoff, (a, b) -> a.isAfter(b) ? a : b));
+    }
+
+    /**
+     * Adds revocations recorded since the last refresh, including those made by other instances.
+     * Until a full load has succeeded (e.g. the database was unavailable at startup) it retries the full load.
+     */
+    @Scheduled(fixedDelayString = "${security.revocation.refresh-ms:15000}")
+    public void refresh() {
+        OffsetDateTime since = refreshedUpTo;
+        if (since == null) {
+            rebuild();
+            return;
+        }
+        try {
+            OffsetDateTime now = jdbcTemplate.queryForObject("SELECT now()", OffsetDateTime.class);
+            OffsetDateTime from = since.minusSeconds(REFRESH_OVERLAP_SECONDS);
+            UuidBloomFilter filter = revokedTokenIds;
+            jdbcTemplate.query("SELECT token_id FROM revoked_tokens WHERE revoked_at > ?",
+                    rs -> {
+                        filter.add(rs.getObject(1, UUID.class));
+                    }, from);
+            Map<UUID, Instant> cutoffs = userCutoffs;
+            jdbcTemplate.query("SELECT user_id, issued_before FROM user_token_cutoffs WHERE revoked_at > ?",
+                    rs -> {
+                        Instant cutoff = rs.getTimestamp(2).toInstant();
+                        cutoffs.merge(rs.getObject(1, UUID.class), cutoff, (a, b) -> a.isAfter(b) ? a : b);
+                    }, from);
+            refreshedUpTo = now;
+        } catch (RuntimeException e) {
+            log.warn("Token revocation refresh failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Purges expired revocations and reloads the rest into a new filter, sized for what is currently revoked.
+     * A refresh pass after the swap picks up revocations made here while the load was running.
+     */
+    @Scheduled(fixedDelayString = "${security.revocation.rebuild-ms:3600000}",
+            initialDelayString = "${security.revocation.rebuild-ms:3600000}")
+    public void rebuild() {
+        try {
+            OffsetDateTime now = jdbcTemplate.queryForObject("SELECT now()", OffsetDateTime.class);
+            jdbcTemplate.update("DELETE FROM revoked_tokens WHERE expires_at < ?", now);
+            jdbcTemplate.update("DELETE FROM user_token_cutoffs WHERE expires_at < ?", now);
+
+            Long count = jdbcTemplate.queryForObject("SELECT count(*) FROM revoked_tokens", Long.class);
+            long tokens = count != null ? count : 0;
+            UuidBloomFilter filter = new UuidBloomFilter(Math.max(expectedRevocations, tokens * 2),
+                    FALSE_POSITIVE_RATE);
+            jdbcTemplate.query("SELECT token_id FROM revoked_tokens", rs -> {
+                filter.add(rs.getObject(1, UUID.class));
+            });
+            Map<UUID, Instant> cutoffs = new ConcurrentHashMap<>();
+            jdbcTemplate.query("SELECT user_id, issued_before FROM user_token_cutoffs", rs -> {
+                cutoffs.put(rs.getObject(1, UUID.class), rs.getTimestamp(2).toInstant());
+            });
+
+            revokedTokenIds = filter;
+            userCutoffs = cutoffs;
+            refreshedUpTo = now;
+            log.info("Loaded {} revoked token(s) and {} user cutoff(s)", tokens, cutoffs.size());
+            // A local revocation committed during the load may have gone into the old filter or map; re-read it
+            refresh();
+        } catch (RuntimeException e) {
+            log.warn("Token revocation rebuild failed, keeping the current filter: {}", e.getMessage());
+        }
+    }
+
+    // In-memory state changes only once the revocation is committed
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.expenseops.security;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Claims of a JWT whose signature and expiry have been checked. Immutable, so one instance can be shared by
+ * every request that presents the same token.
+ */
+public final class VerifiedToken {
+
+    private final UUID tokenId;
+    private final UUID userId;
+    private final UUID tenantId;
+    private final String email;
+    private final String role;
+    private final Instant issuedAt;
+    private final Instant expiresAt;
+
+    public VerifiedToken(UUID tokenId, UUID userId, UUID tenantId, String email, String role, Instant issuedAt,
+            Instant expiresAt) {
+        this.tokenId = tokenId;
+        this.userId = userId;
+        this.tenantId = tenantId;
+        this.email = email;
+        this.role = role;
+        this.issuedAt = issuedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * The token's jti, used to revoke it individually; null for tokens issued before ids were added.
+     */
+    public UUID getTokenId() {
+        return tokenId;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public UUID getTenantId() {
+        return tenantId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public Instant getIssuedAt() {
+        return issuedAt;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+}
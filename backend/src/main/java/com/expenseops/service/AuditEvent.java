@@ -0,0 +1,96 @@
+package com.expenseops.service;
+
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * One audit_logs row waiting to be written by AuditLogWriter.
+ * oldValues and newValues hold only the fields that changed (see AuditService).
+ */
+public class AuditEvent {
+    private UUID id;
+    private UUID tenantId;
+    private String entityType;
+    private UUID entityId;
+    private String action;
+    private UUID actorId;
+    private Map<String, Object> oldValues;
+    private Map<String, Object> newValues;
+    private OffsetDateTime createdAt;
+
+    public AuditEvent() {
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public UUID getTenantId() {
+        return tenantId;
+    }
+
+    public void setTenantId(UUID tenantId) {
+        this.tenantId = tenantId;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(String entityType) {
+        this.entityType = entityType;
+    }
+
+    public UUID getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(UUID entityId) {
+        this.entityId = entityId;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public void setAction(String action) {
+        this.action = action;
+    }
+
+    public UUID getActorId() {
+        return actorId;
+    }
+
+    public void setActorId(UUID actorId) {
+        this.actorId = actorId;
+    }
+
+    public Map<String, Object> getOldValues() {
+        return oldValues;
+    }
+
+    public void setOldValues(Map<String, Object> oldValues) {
+        this.oldValues = oldValues;
+    }
+
+    public Map<String, Object> getNewValues() {
+        return newValues;
+    }
+
+    public void setNewValues(Map<String, Object> newValues) {
+        this.newValues = newValues;
+    }
+
+    public OffsetDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(OffsetDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
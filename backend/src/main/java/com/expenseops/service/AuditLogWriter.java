@@ -0,0 +1,312 @@
+package com.expenseops.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes audit events to audit_logs off the request path.
+ * Events wait in a bounded queue and a single background thread inserts them in JDBC batches. When the queue
+ * is full, producers wait up to offer-timeout-ms (backpressure) and then spill the event to a JSON-lines file,
+ * which the writer replays once it has caught up. Inserts ignore duplicate ids, so a replay that is interrupted
+ * and retried never writes an event twice. A spilled line that can never be written (unreadable, or rejected by a
+ * constraint) is moved to a ".rejected" file instead, so it cannot hold up the events spilled after it.
+ */
+@Component
+public class AuditLogWriter implements Runnable {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLogWriter.class);
+
+    private static final long REPLAY_RETRY_MS = 30_000;
+
+    private static final String INSERT_SQL = "INSERT INTO audit_logs (id, tenant_id, entity_type, entity_id, action, "
+            + "actor_id, old_values, new_values, created_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, CAST(? AS jsonb), CAST(? AS jsonb), ?) ON CONFLICT DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final BlockingQueue<AuditEvent> queue;
+    private final int batchSize;
+    private final long offerTimeoutMs;
+    private final Path spillFile;
+    private final Path replayFile;
+    private final Path retryFile;
+    private final Path rejectedFile;
+    private final Thread thread;
+    private volatile boolean running = true;
+    private long nextReplayAt;
+
+    public AuditLogWriter(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+            @Value("${expenseops.audit.queue-capacity:10000}") int queueCapacity,
+            @Value("${expenseops.audit.batch-size:500}") int batchSize,
+            @Value("${expenseops.audit.offer-timeout-ms:50}") long offerTimeoutMs,
+            @Value("${expenseops.audit.spill-file:${java.io.tmpdir}/expenseops-audit-spill.jsonl}") String spillFile) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.spillFile = Paths.get(spillFile);
+        this.replayFile = Paths.get(spillFile + ".replay");
+        this.retryFile = Paths.get(spillFile + ".retry");
+        this.rejectedFile = Paths.get(spillFile + ".rejected");
+        this.thread = new Thread(this, "audit-writer");
+        this.thread.setDaemon(true);
+    }
+
+    @PostConstruct
+    public void start() {
+        thread.start();
+    }
+
+    /**
+     * Drains what is queued before the datasource closes; anything left over is spilled for the next start.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        thread.interrupt();
+        thread.join(10_000);
+        List<AuditEvent> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            writeOrSpill(remaining);
+        }
+    }
+
+    public void enqueue(AuditEvent event) {
+        try {
+            if (queue.offer(event, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        spill(List.of(event));
+    }
+
+    @Override
+    public void run() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                AuditEvent first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    replaySpilled();
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                writeOrSpill(batch);
+            } catch (InterruptedException e) {
+                // stop() interrupts to end the poll early; the loop condition decides whether to exit
+            } catch (RuntimeException e) {
+                log.error("Audit writer error", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void writeOrSpill(List<AuditEvent> batch) {
+        try {
+            write(batch);
+        } catch (RuntimeException e) {
+            log.warn("Failed to write {} audit event(s), spilling to {}: {}", batch.size(), spillFile, e.getMessage());
+            spill(batch);
+        }
+    }
+
+    private void write(List<AuditEvent> batch) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                AuditEvent event = batch.get(i);
+                ps.setObject(1, event.getId());
+                ps.setObject(2, event.getTenantId());
+                ps.setString(3, event.getEntityType());
+                ps.setObject(4, event.getEntityId());
+                ps.setString(5, event.getAction());
+                ps.setObject(6, event.getActorId());
+                ps.setString(7, toJson(event.getOldValues()));
+                ps.setString(8, toJson(event.getNewValues()));
+                ps.setObject(9, event.getCreatedAt());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return batch.size();
+            }
+        });
+    }
+
+    private synchronized void spill(List<AuditEvent> events) {
+        try (BufferedWriter writer = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (AuditEvent event : events) {
+                writer.write(objectMapper.writeValueAsString(event));
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            log.error("Dropped {} audit event(s): cannot write spill file {}", events.size(), spillFile, e);
+        }
+    }
+
+    /**
+     * Writes spilled events back to the database once the queue is idle. The spill file is first moved aside so
+     * producers can keep spilling while it is replayed. When the database is unavailable the replay stops and the
+     * lines not yet written are kept for the next attempt; lines that fail on their own are rejected and skipped.
+     */
+    void replaySpilled() {
+        if (System.currentTimeMillis() < nextReplayAt) {
+            return;
+        }
+        synchronized (this) {
+            if (!Files.exists(replayFile)) {
+                if (!Files.exists(spillFile)) {
+                    return;
+                }
+                try {
+                    Files.move(spillFile, replayFile, StandardCopyOption.ATOMIC_MOVE);
+                } catch (IOException e) {
+                    log.error("Cannot move audit spill file {} for replay", spillFile, e);
+                    return;
+                }
+            }
+        }
+
+        long[] counts = new long[2];
+        boolean keepRemaining = false;
+        try (BufferedReader reader = Files.newBufferedReader(replayFile, StandardCharsets.UTF_8)) {
+            List<String> lines;
+            while (!(lines = readLines(reader)).isEmpty()) {
+                try {
+                    replayLines(lines, counts);
+                } catch (RuntimeException e) {
+                    log.warn("Audit spill replay stopped after {} event(s), will retry: {}", counts[0], e.getMessage());
+                    keepForRetry(lines, reader);
+                    keepRemaining = true;
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            log.error("Cannot read audit spill file {}, will retry", replayFile, e);
+            nextReplayAt = System.currentTimeMillis() + REPLAY_RETRY_MS;
+            return;
+        }
+
+        try {
+            if (keepRemaining) {
+                nextReplayAt = System.currentTimeMillis() + REPLAY_RETRY_MS;
+                Files.move(retryFile, replayFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } else {
+                Files.delete(replayFile);
+                log.info("Replayed {} spilled audit event(s), rejected {}", counts[0], counts[1]);
+            }
+        } catch (IOException e) {
+            // The whole replay file is retried; the inserts ignore the events already written
+            log.error("Cannot update audit spill file {}", replayFile, e);
+        }
+    }
+
+    private List<String> readLines(BufferedReader reader) throws IOException {
+        List<String> lines = new ArrayList<>(batchSize);
+        String line;
+        while (lines.size() < batchSize && (line = reader.readLine()) != null) {
+            if (!line.isBlank()) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+
+    // counts[0] = written, counts[1] = rejected; throws when the database is unavailable
+    private void replayLines(List<String> lines, long[] counts) {
+        List<AuditEvent> events = new ArrayList<>(lines.size());
+        List<String> eventLines = new ArrayList<>(lines.size());
+        for (String line : lines) {
+            try {
+                events.add(objectMapper.readValue(line, AuditEvent.class));
+                eventLines.add(line);
+            } catch (IOException e) {
+                reject(line, e);
+                counts[1]++;
+            }
+        }
+        if (events.isEmpty()) {
+            return;
+        }
+        try {
+            write(events);
+            counts[0] += events.size();
+        } catch (DataIntegrityViolationException e) {
+            // One event failed the whole batch; write them one at a time to find it
+            for (int i = 0; i < events.size(); i++) {
+                try {
+                    write(List.of(events.get(i)));
+                    counts[0]++;
+                } catch (DataIntegrityViolationException rejected) {
+                    reject(eventLines.get(i), rejected);
+                    counts[1]++;
+                }
+            }
+        }
+    }
+
+    private void keepForRetry(List<String> lines, BufferedReader reader) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(retryFile, StandardCharsets.UTF_8)) {
+            for (String line : lines) {
+                writer.write(line);
+                writer.newLine();
+            }
+            reader.transferTo(writer);
+        }
+    }
+
+    private void reject(String line, Exception cause) {
+        log.error("Rejected spilled audit event, moved to {}: {} ({})", rejectedFile, line, cause.getMessage());
+        try (BufferedWriter writer = Files.newBufferedWriter(rejectedFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            writer.write(line);
+            writer.newLine();
+        } catch (IOException e) {
+            log.error("Cannot write audit rejected file {}", rejectedFile, e);
+        }
+    }
+
+    private String toJson(Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Cannot serialize audit values", e);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.expenseops.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the monthly partitions of audit_logs (see V7__partition_audit_logs.sql).
+ * Each run creates partitions for the current month and partitions-ahead months after it, moves any rows that
+ * landed in the default partition into their month, and drops whole months older than retention-months.
+ * Months are UTC. Every step runs under a transaction-scoped advisory lock, so instances never race on DDL.
+ */
+@Component
+public class AuditPartitionManager {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditPartitionManager.class);
+
+    // Arbitrary key shared by every instance of the app
+    private static final long LOCK_KEY = 7_351_820_416_002L;
+
+    private static final String PARENT = "audit_logs";
+    private static final String DEFAULT_PARTITION = "audit_logs_default";
+    private static final Pattern PARTITION_NAME = Pattern.compile("audit_logs_p(\\d{6})");
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int partitionsAhead;
+    private final int retentionMonths;
+
+    public AuditPartitionManager(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            @Value("${expenseops.audit.partitions-ahead:3}") int partitionsAhead,
+            @Value("${expenseops.audit.retention-months:24}") int retentionMonths) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.partitionsAhead = partitionsAhead;
+        this.retentionMonths = retentionMonths;
+    }
+
+    @Scheduled(fixedDelayString = "${expenseops.audit.partition-maintenance-interval-ms:21600000}")
+    public void maintain() {
+        try {
+            YearMonth current = YearMonth.now(ZoneOffset.UTC);
+            YearMonth oldestKept = retentionMonths > 0 ? current.minusMonths(retentionMonths) : null;
+
+            Set<YearMonth> wanted = new TreeSet<>(defaultPartitionMonths(oldestKept));
+            for (int i = 0; i <= partitionsAhead; i++) {
+                wanted.add(current.plusMonths(i));
+            }
+            Set<YearMonth> existing = existingPartitions();
+            for (YearMonth month : wanted) {
+                if (!existing.contains(month)) {
+                    createPartition(month);
+                }
+            }
+
+            if (oldestKept != null) {
+                for (YearMonth month : existing) {
+                    if (month.isBefore(oldestKept)) {
+                        dropPartition(month);
+                    }
+                }
+                purgeDefaultPartition(oldestKept);
+            }
+        } catch (RuntimeException e) {
+            log.error("Audit partition maintenance failed", e);
+        }
+    }
+
+    private Set<YearMonth> existingPartitions() {
+        List<String> names = jdbcTemplate.queryForList("SELECT c.relname FROM pg_inherits i "
+                + "JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = CAST(? AS regclass)",
+                String.class, PARENT);
+        Set<YearMonth> months = new TreeSet<>();
+        for (String name : names) {
+            Matcher matcher = PARTITION_NAME.matcher(name);
+            if (matcher.matches()) {
+                months.add(YearMonth.parse(matcher.group(1), SUFFIX));
+            }
+        }
+        return months;
+    }
+
+    // Months that have rows waiting in the default partition, ignoring ones retention would drop anyway
+    private List<YearMonth> defaultPartitionMonths(YearMonth oldestKept) {
+        return jdbcTemplate.queryForList("SELECT DISTINCT to_char(created_at AT TIME ZONE 'UTC', 'YYYYMM') "
+                + "FROM " + DEFAULT_PARTITION, String.class).stream()
+                .map(suffix -> YearMonth.parse(suffix, SUFFIX))
+                .filter(month -> oldestKept == null || !month.isBefore(oldestKept))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Creates the partition for one month. Postgres refuses to attach a range that still has rows in the default
+     * partition, so those rows are moved into a standalone table first, which is then attached.
+     */
+    private void createPartition(YearMonth month) {
+        String name = partitionName(month);
+        String from = bound(month);
+        String to = bound(month.plusMonths(1));
+        String range = "created_at >= TIMESTAMPTZ '" + from + "' AND created_at < TIMESTAMPTZ '" + to + "'";
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("SELECT pg_advisory_xact_lock(" + LOCK_KEY + ")");
+            if (existingPartitions().contains(month)) {
+                return;
+            }
+            Boolean pending = jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM " + DEFAULT_PARTITION + " WHERE " + range + ")", Boolean.class);
+            if (!Boolean.TRUE.equals(pending)) {
+                jdbcTemplate.execute("CREATE TABLE " + name + " PARTITION OF " + PARENT
+                        + " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+                return;
+            }
+            jdbcTemplate.execute("CREATE TABLE " + name + " (LIKE " + PARENT + " INCLUDING DEFAULTS)");
+            int moved = jdbcTemplate.update("WITH moved AS (DELETE FROM " + DEFAULT_PARTITION + " WHERE " + range
+                    + " RETURNING *) INSERT INTO " + name + " SELECT * FROM moved");
+            jdbcTemplate.execute("ALTER TABLE " + PARENT + " ATTACH PARTITION " + name
+                    + " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+            log.info("Moved {} audit row(s) from the default partition into {}", moved, name);
+        });
+        log.info("Created audit partition {}", name);
+    }
+
+    private void dropPartition(YearMonth month) {
+        String name = partitionName(month);
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("SELECT pg_advisory_xact_lock(" + LOCK_KEY + ")");
+            jdbcTemplate.execute("DROP TABLE IF EXISTS " + name);
+        });
+        log.info("Dropped audit partition {} (older than {} months)", name, retentionMonths);
+    }
+
+    // Rows only reach the default partition for months without one, so this stays a small delete
+    private void purgeDefaultPartition(YearMonth oldestKept) {
+        Integer purged = transactionTemplate.execute(status -> jdbcTemplate.update("DELETE FROM "
+                + DEFAULT_PARTITION + " WHERE created_at < TIMESTAMPTZ '" + bound(oldestKept) + "'"));
+        if (purged != null && purged > 0) {
+            log.info("Purged {} expired audit row(s) from the default partition", purged);
+        }
+    }
+
+    private static String partitionName(YearMonth month) {
+        return PARENT + "_p" + month.format(SUFFIX);
+    }
+
+    private static String bound(YearMonth month) {
+        LocalDate start = month.atDay(1);
+        return start + " 00:00:00+00";
+    }
+}
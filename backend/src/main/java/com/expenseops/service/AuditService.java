@@ -0,0 +1,183 @@
+package com.expenseops.service;
+
+import com.expenseops.dto.AuditLogResponse;
+import com.expenseops.dto.CursorPage;
+import com.expenseops.dto.PageCursor;
+import com.expenseops.entity.AuditLog;
+import com.expenseops.entity.User;
+import com.expenseops.repository.AuditLogRepository;
+import com.expenseops.security.AuthenticatedUser;
+import com.expenseops.security.TenantContext;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Entry point for recording audit events.
+ * Callers pass before/after snapshots of the fields they care about; only the fields that differ are kept.
+ * Events are handed to AuditLogWriter after the surrounding transaction commits (and dropped if it rolls back),
+ * so auditing costs a hot path no more than building two small maps.
+ */
+@Service
+public class AuditService {
+
+    public static final String EXPENSE = "EXPENSE";
+    public static final String USER = "USER";
+    public static final String CATEGORY = "CATEGORY";
+    public static final String TENANT = "TENANT";
+
+    private static final int MAX_PAGE_SIZE = 200;
+    // Lower time bound when none is given; earlier than any audit row
+    private static final OffsetDateTime BEGINNING = OffsetDateTime.of(2000, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    private final AuditLogWriter auditLogWriter;
+    private final AuditLogRepository auditLogRepository;
+
+    public AuditService(AuditLogWriter auditLogWriter, AuditLogRepository auditLogRepository) {
+        this.auditLogWriter = auditLogWriter;
+        this.auditLogRepository = auditLogRepository;
+    }
+
+    /**
+     * Records an event for the current tenant and user. before is null for creations, after for deletions.
+     */
+    public void record(String entityType, UUID entityId, String action, Map<String, Object> before,
+            Map<String, Object> after) {
+        record(TenantContext.getCurrentTenant(), currentUserId(), entityType, entityId, action, before, after);
+    }
+
+    /**
+     * Records an event with an explicit tenant and actor, for work done outside a request.
+     */
+    public void record(UUID tenantId, UUID actorId, String entityType, UUID entityId, String action,
+            Map<String, Object> before, Map<String, Object> after) {
+        AuditEvent event = new AuditEvent();
+        event.setId(UUID.randomUUID());
+        event.setTenantId(tenantId);
+        event.setEntityType(entityType);
+        event.setEntityId(entityId);
+        event.setAction(action);
+        event.setActorId(actorId);
+        event.setCreatedAt(OffsetDateTime.now());
+
+        if (before != null && after != null) {
+            Map<String, Object> oldValues = new LinkedHashMap<>();
+            Map<String, Object> newValues = new LinkedHashMap<>();
+            Set<String> keys = new HashSet<>(before.keySet());
+            keys.addAll(after.keySet());
+            for (String key : keys) {
+                if (!Objects.equals(before.get(key), after.get(key))) {
+                    oldValues.put(key, before.get(key));
+                    newValues.put(key, after.get(key));
+                }
+            }
+            event.setOldValues(oldValues);
+            event.setNewValues(newValues);
+        } else {
+            event.setOldValues(before);
+            event.setNewValues(after);
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    auditLogWriter.enqueue(event);
+                }
+            });
+        } else {
+            auditLogWriter.enqueue(event);
+        }
+    }
+
+    /**
+     * One page of the tenant's audit trail, newest first. entityType and entityId filter to one entity's history
+     * and must be given together; actorId, from and to (both inclusive) narrow any query.
+     */
+    @Transactional(readOnly = true)
+    @PreAuthorize("hasRole('ADMIN')")
+    public CursorPage<AuditLogResponse> getAuditLogs(String entityType, UUID entityId, UUID actorId,
+            OffsetDateTime from, OffsetDateTime to, String cursor, int limit) {
+        if ((entityType == null) != (entityId == null)) {
+            throw new RuntimeException("entityType and entityId must be given together");
+        }
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new RuntimeException("from must not be after to");
+        }
+
+        UUID tenantId = TenantContext.getCurrentTenant();
+        PageCursor after = PageCursor.decode(cursor);
+        if (after == PageCursor.FIRST && to != null) {
+            // Start just after the upper bound so rows at exactly `to` are included
+            after = new PageCursor(to, PageCursor.FIRST.getId());
+        }
+        OffsetDateTime lowerBound = from != null ? from : BEGINNING;
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        Pageable page = Pageable.ofSize(pageSize + 1);
+
+        List<AuditLog> rows;
+        if (entityType != null && actorId != null) {
+            rows = auditLogRepository.findEntityActorPage(tenantId, entityType, entityId, actorId, lowerBound,
+                    after.getTimestamp(), after.getId(), page);
+        } else if (entityType != null) {
+            rows = auditLogRepository.findEntityPage(tenantId, entityType, entityId, lowerBound,
+                    after.getTimestamp(), after.getId(), page);
+        } else if (actorId != null) {
+            rows = auditLogRepository.findActorPage(tenantId, actorId, lowerBound, after.getTimestamp(),
+                    after.getId(), page);
+        } else {
+            rows = auditLogRepository.findTenantPage(tenantId, lowerBound, after.getTimestamp(), after.getId(),
+                    page);
+        }
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            AuditLog last = rows.get(pageSize - 1);
+            nextCursor = new PageCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        List<AuditLogResponse> items = rows.stream()
+                .map(this::toResponse)
+                .collect(Collectors.toList());
+        return new CursorPage<>(items, nextCursor);
+    }
+
+    private AuditLogResponse toResponse(AuditLog log) {
+        User actor = log.getActor();
+        return AuditLogResponse.builder()
+                .id(log.getId())
+                .entityType(log.getEntityType())
+                .entityId(log.getEntityId())
+                .action(log.getAction())
+                .actorId(actor != null ? actor.getId() : null)
+                .actorName(actor != null ? actor.getName() : null)
+                .oldValues(log.getOldValues())
+                .newValues(log.getNewValues())
+                .createdAt(log.getCreatedAt())
+                .build();
+    }
+
+    private UUID currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user.getId();
+        }
+        return null;
+    }
+}
@@ -11,13 +11,21 @@ import com.expenseops.repository.CategoryRepository;
 import com.expenseops.repository.TenantRepository;
 import com.expenseops.repository.UserRepository;
 import com.expenseops.security.JwtUtils;
+import com.expenseops.security.TokenRevocationService;
+import com.expenseops.security.VerifiedToken;
+import org.springframework.dao.support.DataAccessUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
+import java.util.UUID;
 
 @Service
 public class AuthService {
@@ -27,52 +35,97 @@ public class AuthService {
     private final CategoryRepository categoryRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtils jwtUtils;
+    private final TokenRevocationService tokenRevocationService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
 
     public AuthService(UserRepository userRepository, TenantRepository tenantRepository,
-            CategoryRepository categoryRepository, PasswordEncoder passwordEncoder, JwtUtils jwtUtils) {
+            CategoryRepository categoryRepository, PasswordEncoder passwordEncoder, JwtUtils jwtUtils,
+            TokenRevocationService tokenRevocationService, JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager) {
         this.userRepository = userRepository;
         this.tenantRepository = tenantRepository;
         this.categoryRepository = categoryRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtUtils = jwtUtils;
+        this.tokenRevocationService = tokenRevocationService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Password checks wait for the BCrypt pool, so no database connection is held meanwhile: the stored hash is
+     * read with a short JDBC query (not through the request's EntityManager, which would keep its connection until
+     * the request ends), and the session is built in a short transaction afterwards.
+     */
     public AuthResponse login(LoginRequest request) {
         // Find user by email (across all tenants for simplicity)
-        User user = userRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> new RuntimeException("Invalid email or password"));
+        Credentials credentials = findCredentials(request.getEmail());
+        if (credentials == null) {
+            throw new RuntimeException("Invalid email or password");
+        }
 
         // Verify password
-        if (!passwordEncoder.matches(request.getPassword(), user.getPasswordHash())) {
+        if (!passwordEncoder.matches(request.getPassword(), credentials.passwordHash)) {
             throw new RuntimeException("Invalid email or password");
         }
 
-        // Check if user is active
-        if (!user.getIsActive()) {
-            throw new RuntimeException("Account is deactivated");
-        }
+        // Rehash with the current BCrypt cost while the plain password is at hand
+        String upgradedHash = passwordEncoder.upgradeEncoding(credentials.passwordHash)
+                ? passwordEncoder.encode(request.getPassword())
+                : null;
 
-        // Generate JWT token
-        String token = jwtUtils.generateToken(
-                user.getId(),
-                user.getTenant().getId(),
-                user.getEmail(),
-                user.getRole().name());
+        return transactionTemplate.execute(status -> {
+            User user = userRepository.findById(credentials.userId)
+                    .orElseThrow(() -> new RuntimeException("Invalid email or password"));
 
-        return AuthResponse.builder()
-                .token(token)
-                .userId(user.getId())
-                .tenantId(user.getTenant().getId())
-                .email(user.getEmail())
-                .name(user.getName())
-                .role(user.getRole())
-                .tenantName(user.getTenant().getName())
-                .build();
+            // Check if user is active
+            if (!user.getIsActive()) {
+                throw new RuntimeException("Account is deactivated");
+            }
+
+            // Unless the password was changed in the meantime
+            if (upgradedHash != null && credentials.passwordHash.equals(user.getPasswordHash())) {
+                user.setPasswordHash(upgradedHash);
+                userRepository.save(user);
+            }
+
+            // Generate JWT token
+            String token = jwtUtils.generateToken(
+                    user.getId(),
+                    user.getTenant().getId(),
+                    user.getEmail(),
+                    user.getRole().name());
+
+            return AuthResponse.builder()
+                    .token(token)
+                    .userId(user.getId())
+                    .tenantId(user.getTenant().getId())
+                    .email(user.getEmail())
+                    .name(user.getName())
+                    .role(user.getRole())
+                    .tenantName(user.getTenant().getName())
+                    .build();
+        });
+    }
+
+    /**
+     * Revokes the token the current request was authenticated with. Other sessions of the user stay signed in.
+     */
+    public void logout() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getCredentials() instanceof VerifiedToken token) {
+            tokenRevocationService.revoke(token);
+        }
     }
 
-    @Transactional
     public AuthResponse register(RegisterRequest request) {
+        // Hashed before the transaction, so no database connection is held while waiting for the BCrypt pool
+        String passwordHash = passwordEncoder.encode(request.getPassword());
+        return transactionTemplate.execute(status -> createAccount(request, passwordHash));
+    }
+
+    private AuthResponse createAccount(RegisterRequest request, String passwordHash) {
         Tenant tenant;
         boolean isFirstUserInTenant = false;
 
@@ -118,7 +171,7 @@ public class AuthService {
         User user = new User();
         user.setTenant(tenant);
         user.setEmail(request.getEmail());
-        user.setPasswordHash(passwordEncoder.encode(request.getPassword()));
+        user.setPasswordHash(passwordHash);
         user.setName(request.getName());
         // First user becomes ADMIN, others become EMPLOYEE
         user.setRole(isFirstUserInTenant ? UserRole.ADMIN : UserRole.EMPLOYEE);
@@ -167,9 +220,25 @@ public class AuthService {
         }
     }
 
+    private Credentials findCredentials(String email) {
+        return DataAccessUtils.singleResult(jdbcTemplate.query(
+                "SELECT id, password_hash FROM users WHERE email = ?",
+                (rs, rowNum) -> new Credentials(rs.getObject(1, UUID.class), rs.getString(2)), email));
+    }
+
     private String generateInviteCode() {
         Random random = new Random();
         int code = 100000 + random.nextInt(900000); // 6-digit number
         return String.valueOf(code);
     }
+
+    private static final class Credentials {
+        private final UUID userId;
+        private final String passwordHash;
+
+        private Credentials(UUID userId, String passwordHash) {
+            this.userId = userId;
+            this.passwordHash = passwordHash;
+        }
+    }
 }
@@ -0,0 +1,157 @@
+package com.expenseops.service;
+
+import com.expenseops.dto.BulkActionResponse;
+import com.expenseops.dto.BulkActionResult;
+import com.expenseops.entity.ExpenseStatus;
+import com.expenseops.repository.ExpenseRepository;
+import com.expenseops.security.AuthenticatedUser;
+import com.expenseops.security.TenantContext;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Applies one workflow transition to many expenses at once.
+ * Each action is a single set-based statement (see ExpenseRepository.BULK_TRANSITION_TAIL) that updates the
+ * eligible rows, records their approvals and moves their spend rollups; ineligible IDs are left untouched
+ * and reported with the same error the single-expense endpoint would give.
+ */
+@Service
+public class BulkExpenseService {
+
+    private final ExpenseRepository expenseRepository;
+    private final ExpenseStatusCounters statusCounters;
+    private final AuditService auditService;
+    private final ChangeVersions changeVersions;
+    private final WorkflowMetrics workflowMetrics;
+
+    public BulkExpenseService(ExpenseRepository expenseRepository, ExpenseStatusCounters statusCounters,
+            AuditService auditService, ChangeVersions changeVersions, WorkflowMetrics workflowMetrics) {
+        this.expenseRepository = expenseRepository;
+        this.statusCounters = statusCounters;
+        this.auditService = auditService;
+        this.changeVersions = changeVersions;
+        this.workflowMetrics = workflowMetrics;
+    }
+
+    private AuthenticatedUser getCurrentUser() {
+        return (AuthenticatedUser) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+    }
+
+    @Transactional
+    @PreAuthorize("hasAnyRole('MANAGER', 'FINANCE', 'ADMIN')")
+    public BulkActionResponse approveExpenses(List<UUID> ids) {
+        AuthenticatedUser actor = getCurrentUser();
+        UUID tenantId = TenantContext.getCurrentTenant();
+        Set<UUID> requested = new LinkedHashSet<>(ids);
+
+        List<UUID> moved = expenseRepository.bulkApprove(tenantId, requested, ExpenseStatus.SUBMITTED.name(),
+                actor.getId(), actor.getName());
+        statusCounters.recordTransitions(tenantId, ExpenseStatus.SUBMITTED, ExpenseStatus.APPROVED, moved.size());
+        workflowMetrics.recordDecisions(tenantId, ExpenseStatus.APPROVED, moved.size());
+        changeVersions.expensesChanged(tenantId, moved);
+        auditTransitions(moved, ExpenseStatus.SUBMITTED, ExpenseStatus.APPROVED, null);
+
+        return toResponse(tenantId, requested, moved, ExpenseStatus.SUBMITTED, "approve", actor.getId());
+    }
+
+    @Transactional
+    @PreAuthorize("hasAnyRole('MANAGER', 'FINANCE', 'ADMIN')")
+    public BulkActionResponse rejectExpenses(List<UUID> ids, String reason) {
+        AuthenticatedUser actor = getCurrentUser();
+        UUID tenantId = TenantContext.getCurrentTenant();
+        Set<UUID> requested = new LinkedHashSet<>(ids);
+
+        List<UUID> moved = expenseRepository.bulkReject(tenantId, requested, ExpenseStatus.SUBMITTED.name(),
+                actor.getId(), reason);
+        statusCounters.recordTransitions(tenantId, ExpenseStatus.SUBMITTED, ExpenseStatus.REJECTED, moved.size());
+        workflowMetrics.recordDecisions(tenantId, ExpenseStatus.REJECTED, moved.size());
+        changeVersions.expensesChanged(tenantId, moved);
+        auditTransitions(moved, ExpenseStatus.SUBMITTED, ExpenseStatus.REJECTED, reason);
+
+        return toResponse(tenantId, requested, moved, ExpenseStatus.SUBMITTED, "reject", actor.getId());
+    }
+
+    @Transactional
+    @PreAuthorize("hasAnyRole('FINANCE', 'ADMIN')")
+    public BulkActionResponse reimburseExpenses(List<UUID> ids) {
+        AuthenticatedUser actor = getCurrentUser();
+        UUID tenantId = TenantContext.getCurrentTenant();
+        Set<UUID> requested = new LinkedHashSet<>(ids);
+
+        List<UUID> moved = expenseRepository.bulkReimburse(tenantId, requested, ExpenseStatus.APPROVED.name(),
+                actor.getId(), actor.getName());
+        statusCounters.recordTransitions(tenantId, ExpenseStatus.APPROVED, ExpenseStatus.REIMBURSED, moved.size());
+        changeVersions.expensesChanged(tenantId, moved);
+        auditTransitions(moved, ExpenseStatus.APPROVED, ExpenseStatus.REIMBURSED, null);
+
+        return toResponse(tenantId, requested, moved, ExpenseStatus.APPROVED, "reimburse", null);
+    }
+
+    private void auditTransitions(List<UUID> moved, ExpenseStatus from, ExpenseStatus to, String rejectionReason) {
+        Map<String, Object> before = Map.of("status", from);
+        Map<String, Object> after = new HashMap<>();
+        after.put("status", to);
+        if (rejectionReason != null) {
+            after.put("rejectionReason", rejectionReason);
+        }
+        for (UUID id : moved) {
+            auditService.record(AuditService.EXPENSE, id, to.name(), before, after);
+        }
+    }
+
+    /**
+     * Builds per-ID outcomes. Only the IDs that did not move are looked up again, to explain why.
+     * ownerExcluded is the actor's ID when they may not act on their own expenses, otherwise null.
+     */
+    private BulkActionResponse toResponse(UUID tenantId, Set<UUID> requested, List<UUID> moved,
+            ExpenseStatus fromStatus, String verb, UUID ownerExcluded) {
+        Set<UUID> succeeded = new HashSet<>(moved);
+        List<UUID> failedIds = requested.stream()
+                .filter(id -> !succeeded.contains(id))
+                .collect(Collectors.toList());
+        Map<UUID, ExpenseRepository.ExpenseState> failedStates = failedIds.isEmpty()
+                ? Map.of()
+                : expenseRepository.findStates(tenantId, failedIds).stream()
+                        .collect(Collectors.toMap(ExpenseRepository.ExpenseState::getId, Function.identity()));
+
+        List<BulkActionResult> results = new ArrayList<>(requested.size());
+        for (UUID id : requested) {
+            if (succeeded.contains(id)) {
+                results.add(new BulkActionResult(id, true, null));
+                continue;
+            }
+            ExpenseRepository.ExpenseState state = failedStates.get(id);
+            String error;
+            if (state == null) {
+                error = "Expense not found";
+            } else if (!fromStatus.name().equals(state.getStatus())) {
+                error = "Can only " + verb + " " + fromStatus.name() + " expenses";
+            } else if (ownerExcluded != null && ownerExcluded.equals(state.getUserId())) {
+                error = "Cannot approve your own expense";
+            } else {
+                // Changed by someone else between the update and this lookup
+                error = "Expense was modified concurrently";
+            }
+            results.add(new BulkActionResult(id, false, error));
+        }
+
+        return BulkActionResponse.builder()
+                .succeeded(succeeded.size())
+                .failed(results.size() - succeeded.size())
+                .results(results)
+                .build();
+    }
+}
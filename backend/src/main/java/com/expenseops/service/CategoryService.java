@@ -6,12 +6,15 @@ import com.expenseops.entity.Tenant;
 import com.expenseops.repository.CategoryRepository;
 import com.expenseops.repository.TenantRepository;
 import com.expenseops.security.TenantContext;
+import com.expenseops.service.ReferenceDataCache.CachedCategory;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -20,23 +23,32 @@ public class CategoryService {
 
     private final CategoryRepository categoryRepository;
     private final TenantRepository tenantRepository;
+    private final AuditService auditService;
+    private final ReferenceDataCache referenceDataCache;
+    private final ChangeVersions changeVersions;
 
-    public CategoryService(CategoryRepository categoryRepository, TenantRepository tenantRepository) {
+    public CategoryService(CategoryRepository categoryRepository, TenantRepository tenantRepository,
+            AuditService auditService, ReferenceDataCache referenceDataCache, ChangeVersions changeVersions) {
         this.categoryRepository = categoryRepository;
         this.tenantRepository = tenantRepository;
+        this.auditService = auditService;
+        this.referenceDataCache = referenceDataCache;
+        this.changeVersions = changeVersions;
     }
 
     @Transactional
     public List<CategoryResponse> getCategories() {
         UUID tenantId = TenantContext.getCurrentTenant();
-        List<Category> categories = categoryRepository.findByTenantIdAndIsActiveTrue(tenantId);
+        List<CachedCategory> categories = referenceDataCache.get(tenantId).getActiveCategories();
 
         // If no categories exist, seed default ones
         if (categories.isEmpty()) {
             Tenant tenant = tenantRepository.findById(tenantId)
                     .orElseThrow(() -> new RuntimeException("Tenant not found"));
             seedDefaultCategories(tenant);
-            categories = categoryRepository.findByTenantIdAndIsActiveTrue(tenantId);
+            return categoryRepository.findByTenantIdAndIsActiveTrue(tenantId).stream()
+                    .map(this::toResponse)
+                    .collect(Collectors.toList());
         }
 
         return categories.stream()
@@ -44,10 +56,20 @@ public class CategoryService {
                 .collect(Collectors.toList());
     }
 
-    @Transactional(readOnly = true)
-    public Category getCategoryById(UUID categoryId) {
+    /**
+     * ETag of the category list, derived from the cached snapshot so checking it needs no query.
+     */
+    public String getCategoriesETag() {
+        return ChangeVersions.weakETag("categories",
+                referenceDataCache.get(TenantContext.getCurrentTenant()).getActiveCategoriesFingerprint());
+    }
+
+    /**
+     * Looks up one of the current tenant's categories, active or not, from the reference data cache.
+     */
+    public CachedCategory getCategoryById(UUID categoryId) {
         UUID tenantId = TenantContext.getCurrentTenant();
-        return categoryRepository.findByIdAndTenantId(categoryId, tenantId)
+        return referenceDataCache.get(tenantId).getCategory(categoryId)
                 .orElseThrow(() -> new RuntimeException("Category not found"));
     }
 
@@ -70,6 +92,10 @@ public class CategoryService {
         category.setDescription(description);
         category.setIsActive(true);
         category = categoryRepository.save(category);
+        referenceDataCache.invalidate(tenantId);
+        // Category names are shown on every expense, so every user's list changes
+        changeVersions.allUsersChanged(tenantId);
+        auditService.record(AuditService.CATEGORY, category.getId(), "CREATED", null, auditSnapshot(category));
 
         return toResponse(category);
     }
@@ -97,6 +123,8 @@ public class CategoryService {
                 categoryRepository.save(category);
             }
         }
+        referenceDataCache.invalidate(tenant.getId());
+        changeVersions.allUsersChanged(tenant.getId());
     }
 
     @Transactional(readOnly = true)
@@ -121,12 +149,16 @@ public class CategoryService {
             throw new RuntimeException("Category with this name already exists");
         }
 
+        Map<String, Object> before = auditSnapshot(category);
         category.setName(name);
         if (icon != null) {
             category.setIcon(icon);
         }
         category.setDescription(description);
         category = categoryRepository.save(category);
+        referenceDataCache.invalidate(tenantId);
+        changeVersions.allUsersChanged(tenantId);
+        auditService.record(AuditService.CATEGORY, category.getId(), "UPDATED", before, auditSnapshot(category));
         return toAdminResponse(category);
     }
 
@@ -137,11 +169,34 @@ public class CategoryService {
         Category category = categoryRepository.findByIdAndTenantId(categoryId, tenantId)
                 .orElseThrow(() -> new RuntimeException("Category not found"));
 
+        Map<String, Object> before = auditSnapshot(category);
         category.setIsActive(!category.getIsActive());
         category = categoryRepository.save(category);
+        referenceDataCache.invalidate(tenantId);
+        changeVersions.allUsersChanged(tenantId);
+        auditService.record(AuditService.CATEGORY, category.getId(),
+                category.getIsActive() ? "ACTIVATED" : "DEACTIVATED", before, auditSnapshot(category));
         return toAdminResponse(category);
     }
 
+    private Map<String, Object> auditSnapshot(Category category) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("name", category.getName());
+        values.put("icon", category.getIcon());
+        values.put("description", category.getDescription());
+        values.put("active", category.getIsActive());
+        return values;
+    }
+
+    private CategoryResponse toResponse(CachedCategory category) {
+        return CategoryResponse.builder()
+                .id(category.getId())
+                .name(category.getName())
+                .icon(category.getIcon())
+                .description(category.getDescription())
+                .build();
+    }
+
     private CategoryResponse toResponse(Category category) {
         return CategoryResponse.builder()
                 .id(category.getId())
@@ -0,0 +1,152 @@
+package com.expenseops.service;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Monotonic change versions per tenant and per user, kept in change_versions and used as ETags by polled list
+ * endpoints, so a poll that would return the same list is answered 304 from one primary-key lookup.
+ * Writes only mark what they changed; the counters are incremented once per transaction, just before it commits,
+ * so they move atomically with the data and their row locks are held only for the commit.
+ * A tenant's counter is spread over TENANT_SHARDS rows, of which each transaction bumps one at random and readers
+ * sum, so concurrent writes in a tenant rarely wait on each other's row lock. Writes that change every user's list
+ * bump one tenant-wide USERS counter, which each user's version includes, rather than a row per user.
+ */
+@Component
+public class ChangeVersions {
+
+    private static final String TENANT = "TENANT";
+    private static final String USER = "USER";
+    // Keyed by tenant: part of every user's version in that tenant
+    private static final String TENANT_USERS = "USERS";
+    private static final int TENANT_SHARDS = 16;
+    private static final String UPSERT = "INSERT INTO change_versions (scope, scope_id, shard, version) "
+            + "VALUES (?, ?, ?, 1) "
+            + "ON CONFLICT (scope, scope_id, shard) DO UPDATE SET version = change_versions.version + 1";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public ChangeVersions(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    public long getTenantVersion(UUID tenantId) {
+        return read(TENANT, tenantId);
+    }
+
+    /**
+     * The user's own counter plus the tenant-wide one for writes that changed every user; a sum of counters that
+     * only go up moves whenever either does.
+     */
+    public long getUserVersion(UUID tenantId, UUID userId) {
+        Long version = jdbcTemplate.queryForObject("SELECT coalesce(sum(version), 0) FROM change_versions "
+                + "WHERE (scope = ? AND scope_id = ?) OR (scope = ? AND scope_id = ?)",
+                Long.class, USER, userId, TENANT_USERS, tenantId);
+        return version == null ? 0 : version;
+    }
+
+    /**
+     * Marks tenant-wide data (e.g. categories) as changed.
+     */
+    public void tenantChanged(UUID tenantId) {
+        mark(TENANT + ":" + tenantId);
+    }
+
+    /**
+     * Marks one of the user's expenses, or the user's own details shown on them, as changed.
+     */
+    public void userChanged(UUID tenantId, UUID userId) {
+        tenantChanged(tenantId);
+        mark(USER + ":" + userId);
+    }
+
+    /**
+     * Marks expenses changed by a bulk update; their owners are looked up, so call this after the update.
+     */
+    public void expensesChanged(UUID tenantId, Collection<UUID> expenseIds) {
+        if (expenseIds.isEmpty()) {
+            return;
+        }
+        List<UUID> owners = namedJdbcTemplate.queryForList(
+                "SELECT DISTINCT user_id FROM expenses WHERE tenant_id = :tenantId AND id IN (:ids)",
+                new MapSqlParameterSource("tenantId", tenantId).addValue("ids", expenseIds), UUID.class);
+        tenantChanged(tenantId);
+        for (UUID owner : owners) {
+            mark(USER + ":" + owner);
+        }
+    }
+
+    /**
+     * Marks every user in the tenant as changed, for writes too broad to track per user (e.g. imports). Bumps one
+     * tenant-wide counter, so the cost does not grow with the number of users.
+     */
+    public void allUsersChanged(UUID tenantId) {
+        tenantChanged(tenantId);
+        mark(TENANT_USERS + ":" + tenantId);
+    }
+
+    public static String weakETag(Object... parts) {
+        return "W/\"" + List.of(parts).stream().map(String::valueOf).collect(Collectors.joining("-")) + "\"";
+    }
+
+    private long read(String scope, UUID scopeId) {
+        Long version = jdbcTemplate.queryForObject(
+                "SELECT coalesce(sum(version), 0) FROM change_versions WHERE scope = ? AND scope_id = ?",
+                Long.class, scope, scopeId);
+        return version == null ? 0 : version;
+    }
+
+    private void mark(String key) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(Set.of(key));
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Set<String> pending = (Set<String>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<String> keys = new TreeSet<>();
+            TransactionSynchronizationManager.bindResource(this, keys);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    apply(keys);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ChangeVersions.this);
+                }
+            });
+            pending = keys;
+        }
+        pending.add(key);
+    }
+
+    // Keys sort as TENANT, USER, USERS, so every transaction locks its tenant's row first
+    private void apply(Set<String> keys) {
+        List<Object[]> rows = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            int separator = key.indexOf(':');
+            String scope = key.substring(0, separator);
+            UUID scopeId = UUID.fromString(key.substring(separator + 1));
+            int shard = TENANT.equals(scope) ? ThreadLocalRandom.current().nextInt(TENANT_SHARDS) : 0;
+            rows.add(new Object[] { scope, scopeId, shard });
+        }
+        jdbcTemplate.batchUpdate(UPSERT, rows);
+    }
+}
@@ -0,0 +1,225 @@
+package com.expenseops.service;
+
+import com.expenseops.dto.ExpenseExportRow;
+import com.expenseops.dto.ExportFormat;
+import com.expenseops.dto.PageCursor;
+import com.expenseops.entity.ExpenseStatus;
+import com.expenseops.repository.ExpenseRepository;
+import com.expenseops.security.TenantContext;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Streams expense exports for finance.
+ * Rows are read in keyset chunks of CHUNK_SIZE, each its own short query, so memory stays flat and no
+ * transaction is held open for the length of the download.
+ */
+@Service
+public class ExpenseExportService {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    // Rows kept in memory by the XLSX writer before flushing to its temp file
+    private static final int XLSX_ROW_WINDOW = 200;
+
+    private static final String[] HEADERS = {
+            "ID", "Expense Date", "Title", "Description", "Category", "Amount", "Status", "Submitted By",
+            "Department", "Created At", "Submitted At", "Approved At", "Approved By", "Reimbursed At",
+            "Reimbursed By", "Rejection Reason", "Receipt URL" };
+
+    private final ExpenseRepository expenseRepository;
+
+    public ExpenseExportService(ExpenseRepository expenseRepository) {
+        this.expenseRepository = expenseRepository;
+    }
+
+    /**
+     * Builds the response body on the request thread (tenant and filters are captured here);
+     * the body itself runs later on an async thread with no tenant context.
+     */
+    @PreAuthorize("hasAnyRole('FINANCE', 'ADMIN')")
+    public StreamingResponseBody exportExpenses(ExportFormat format, List<ExpenseStatus> statuses,
+            LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new RuntimeException("'from' must not be after 'to'");
+        }
+
+        UUID tenantId = TenantContext.getCurrentTenant();
+        List<String> statusNames = (statuses == null || statuses.isEmpty() ? defaultStatuses() : statuses)
+                .stream()
+                .map(ExpenseStatus::name)
+                .collect(Collectors.toList());
+        OffsetDateTime createdFrom = from != null
+                ? from.atStartOfDay().atOffset(ZoneOffset.UTC)
+                : OffsetDateTime.of(1970, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+        // An upper bound is just a starting cursor: rows strictly before midnight after 'to'
+        PageCursor start = to != null
+                ? new PageCursor(to.plusDays(1).atStartOfDay().atOffset(ZoneOffset.UTC), new UUID(0L, 0L))
+                : PageCursor.FIRST;
+
+        return out -> {
+            RowWriter writer = format == ExportFormat.XLSX ? new XlsxRowWriter(out) : new CsvRowWriter(out);
+            try {
+                writer.writeRow(HEADERS);
+                PageCursor after = start;
+                while (true) {
+                    List<ExpenseExportRow> chunk = expenseRepository.findExportPage(tenantId, statusNames,
+                            createdFrom, after.getTimestamp(), after.getId(), Pageable.ofSize(CHUNK_SIZE));
+                    for (ExpenseExportRow row : chunk) {
+                        writer.writeRow(toValues(row));
+                    }
+                    writer.flush();
+                    if (chunk.size() < CHUNK_SIZE) {
+                        break;
+                    }
+                    ExpenseExportRow last = chunk.get(chunk.size() - 1);
+                    after = new PageCursor(last.getCreatedAt(), last.getId());
+                }
+                writer.finish();
+            } finally {
+                writer.dispose();
+            }
+        };
+    }
+
+    // Drafts are private to their owner, so finance exports default to everything past submission
+    private List<ExpenseStatus> defaultStatuses() {
+        return List.of(ExpenseStatus.SUBMITTED, ExpenseStatus.APPROVED, ExpenseStatus.REJECTED,
+                ExpenseStatus.REIMBURSED);
+    }
+
+    private Object[] toValues(ExpenseExportRow row) {
+        return new Object[] {
+                row.getId(), row.getExpenseDate(), row.getTitle(), row.getDescription(), row.getCategoryName(),
+                row.getAmount(), row.getStatus(), row.getUserName(), row.getUserDepartment(), row.getCreatedAt(),
+                row.getSubmittedAt(), row.getApprovedAt(), row.getApprovedByName(), row.getReimbursedAt(),
+                row.getReimbursedByName(), row.getRejectionReason(), row.getReceiptUrl() };
+    }
+
+    private interface RowWriter {
+        void writeRow(Object[] values) throws IOException;
+
+        void flush() throws IOException;
+
+        void finish() throws IOException;
+
+        void dispose();
+    }
+
+    private static class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+
+        CsvRowWriter(OutputStream out) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            // BOM so spreadsheet apps detect UTF-8
+            writer.write('\uFEFF');
+        }
+
+        @Override
+        public void writeRow(Object[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(escape(values[i]));
+            }
+            writer.write("\r\n");
+        }
+
+        private String escape(Object value) {
+            if (value == null) {
+                return "";
+            }
+            String text = value.toString();
+            // Neutralize spreadsheet formulas in user-entered text
+            if (!(value instanceof BigDecimal) && !text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0) {
+                text = "'" + text;
+            }
+            if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0
+                    || text.indexOf('\r') >= 0) {
+                return '"' + text.replace("\"", "\"\"") + '"';
+            }
+            return text;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void dispose() {
+        }
+    }
+
+    private static class XlsxRowWriter implements RowWriter {
+        private final OutputStream out;
+        private final SXSSFWorkbook workbook = new SXSSFWorkbook(XLSX_ROW_WINDOW);
+        private final SXSSFSheet sheet;
+        private int rowIndex = 0;
+
+        XlsxRowWriter(OutputStream out) {
+            this.out = out;
+            this.workbook.setCompressTempFiles(true);
+            this.sheet = workbook.createSheet("Expenses");
+        }
+
+        @Override
+        public void writeRow(Object[] values) {
+            Row row = sheet.createRow(rowIndex++);
+            for (int i = 0; i < values.length; i++) {
+                Object value = values[i];
+                if (value == null) {
+                    continue;
+                }
+                Cell cell = row.createCell(i);
+                if (value instanceof BigDecimal amount) {
+                    cell.setCellValue(amount.doubleValue());
+                } else {
+                    cell.setCellValue(value.toString());
+                }
+            }
+        }
+
+        @Override
+        public void flush() {
+            // SXSSF spills rows beyond the window to its temp file on its own
+        }
+
+        @Override
+        public void finish() throws IOException {
+            workbook.write(out);
+            out.flush();
+        }
+
+        @Override
+        public void dispose() {
+            workbook.dispose();
+        }
+    }
+}
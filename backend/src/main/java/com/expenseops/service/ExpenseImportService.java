@@ -0,0 +1,559 @@
+package com.expenseops.service;
+
+import com.expenseops.dto.ExpenseImportResponse;
+import com.expenseops.dto.ImportChunkError;
+import com.expenseops.dto.ImportLineError;
+import com.expenseops.entity.Category;
+import com.expenseops.entity.ExpenseStatus;
+import com.expenseops.entity.User;
+import com.expenseops.repository.CategoryRepository;
+import com.expenseops.repository.UserRepository;
+import com.expenseops.security.AuthenticatedUser;
+import com.expenseops.security.TenantContext;
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Imports expenses from a streamed CSV file.
+ * The file must start with a header row naming its columns: title, amount, category and expense_date are required;
+ * description, receipt_url, email (owner, defaults to the importer) and status (defaults to DRAFT) are optional.
+ * Categories and users are resolved once per file. Valid rows are written with Postgres COPY in chunks of
+ * CHUNK_SIZE, each chunk in its own transaction together with its spend rollup and counter updates, so memory
+ * stays flat however large the file is. Invalid lines are skipped and reported. A chunk that fails to write is
+ * rolled back and reported by line range while the rest of the file carries on, and the audit summary is recorded
+ * however the import ends, so the response and the audit trail say exactly which lines still need importing.
+ */
+@Service
+public class ExpenseImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpenseImportService.class);
+
+    private static final int CHUNK_SIZE = 5000;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final int MAX_FIELD_LENGTH = 10_000;
+    private static final BigDecimal MAX_AMOUNT = new BigDecimal("9999999999.99");
+
+    private static final String COPY_SQL = "COPY expenses (id, tenant_id, user_id, category_id, title, description, "
+            + "amount, expense_date, status, receipt_url, version, created_at, updated_at) "
+            + "FROM STDIN WITH (FORMAT csv)";
+
+    private final CategoryRepository categoryRepository;
+    private final UserRepository userRepository;
+    private final SpendRollupService spendRollupService;
+    private final ExpenseStatusCounters statusCounters;
+    private final AuditService auditService;
+    private final ChangeVersions changeVersions;
+    private final DataSource dataSource;
+    private final TransactionTemplate transactionTemplate;
+
+    public ExpenseImportService(CategoryRepository categoryRepository, UserRepository userRepository,
+            SpendRollupService spendRollupService, ExpenseStatusCounters statusCounters, AuditService auditService,
+            ChangeVersions changeVersions, DataSource dataSource, PlatformTransactionManager transactionManager) {
+        this.categoryRepository = categoryRepository;
+        this.userRepository = userRepository;
+        this.spendRollupService = spendRollupService;
+        this.statusCounters = statusCounters;
+        this.auditService = auditService;
+        this.changeVersions = changeVersions;
+        this.dataSource = dataSource;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    public ExpenseImportResponse importExpenses(InputStream in) {
+        UUID tenantId = TenantContext.getCurrentTenant();
+        AuthenticatedUser principal = (AuthenticatedUser) SecurityContextHolder.getContext().getAuthentication()
+                .getPrincipal();
+
+        Map<String, Category> categories = categoryRepository.findByTenantId(tenantId).stream()
+                .collect(Collectors.toMap(c -> key(c.getName()), Function.identity(), (a, b) -> a));
+        Map<String, User> users = userRepository.findByTenantId(tenantId).stream()
+                .collect(Collectors.toMap(u -> key(u.getEmail()), Function.identity(), (a, b) -> a));
+        User importer = users.get(key(principal.getEmail()));
+
+        ImportReport report = new ImportReport();
+        try {
+            readAndWrite(in, tenantId, categories, users, importer, report);
+        } finally {
+            // One summary event for the whole file rather than one per imported row, recorded even when reading fails
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("imported", report.imported);
+            summary.put("failed", report.failed);
+            if (!report.failedChunks.isEmpty()) {
+                summary.put("failedChunks", report.failedChunks.stream()
+                        .map(c -> c.getFromLine() + "-" + c.getToLine())
+                        .collect(Collectors.toList()));
+            }
+            auditService.record(AuditService.TENANT, tenantId, "EXPENSES_IMPORTED", null, summary);
+        }
+
+        return ExpenseImportResponse.builder()
+                .imported(report.imported)
+                .failed(report.failed)
+                .errors(report.errors)
+                .errorsTruncated(report.errorsTruncated)
+                .failedChunks(report.failedChunks)
+                .build();
+    }
+
+    private void readAndWrite(InputStream in, UUID tenantId, Map<String, Category> categories,
+            Map<String, User> users, User importer, ImportReport report) {
+        Chunk chunk = new Chunk(tenantId);
+        try {
+            CsvRecordReader reader = new CsvRecordReader(
+                    new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+            List<String> header = reader.next();
+            if (header == null) {
+                throw new RuntimeException("CSV file is empty");
+            }
+            Columns columns = new Columns(header);
+
+            List<String> record;
+            while ((record = reader.next()) != null) {
+                if (record.size() == 1 && record.get(0).isBlank()) {
+                    continue;
+                }
+                try {
+                    if (reader.isRecordTooLong()) {
+                        throw new RuntimeException("Field exceeds " + MAX_FIELD_LENGTH + " characters");
+                    }
+                    chunk.add(toRow(columns, record, categories, users, importer), reader.getRecordLine());
+                } catch (RuntimeException e) {
+                    report.reject(reader.getRecordLine(), e.getMessage());
+                    continue;
+                }
+                if (chunk.size() >= CHUNK_SIZE) {
+                    write(chunk, report);
+                    chunk = new Chunk(tenantId);
+                }
+            }
+        } catch (IOException e) {
+            // Chunks already written stay imported; the caller still records what was done
+            throw new RuntimeException("Failed to read CSV after " + report.imported + " imported row(s): "
+                    + e.getMessage(), e);
+        } catch (CsvFormatException e) {
+            // Nothing after an unterminated quote can be trusted; keep what was read before it
+            report.reject(e.line, e.getMessage());
+        }
+        write(chunk, report);
+    }
+
+    private Row toRow(Columns columns, List<String> record, Map<String, Category> categories,
+            Map<String, User> users, User importer) {
+        String title = columns.get(record, "title");
+        if (title == null || title.length() < 3 || title.length() > 200) {
+            throw new RuntimeException("Title must be between 3 and 200 characters");
+        }
+
+        String description = columns.get(record, "description");
+        if (description != null && description.length() > 1000) {
+            throw new RuntimeException("Description must not exceed 1000 characters");
+        }
+
+        String amountText = columns.get(record, "amount");
+        if (amountText == null) {
+            throw new RuntimeException("Amount is required");
+        }
+        BigDecimal amount;
+        try {
+            amount = new BigDecimal(amountText);
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Invalid amount: " + amountText);
+        }
+        if (amount.compareTo(new BigDecimal("0.01")) < 0) {
+            throw new RuntimeException("Amount must be greater than 0");
+        }
+        if (amount.stripTrailingZeros().scale() > 2 || amount.compareTo(MAX_AMOUNT) > 0) {
+            throw new RuntimeException("Amount must have at most 2 decimal places and 10 integer digits");
+        }
+
+        String categoryName = columns.get(record, "category");
+        Category category = categoryName != null ? categories.get(key(categoryName)) : null;
+        if (category == null) {
+            throw new RuntimeException("Unknown category: " + categoryName);
+        }
+
+        String dateText = columns.get(record, "expense_date");
+        if (dateText == null) {
+            throw new RuntimeException("Expense date is required");
+        }
+        LocalDate expenseDate;
+        try {
+            expenseDate = LocalDate.parse(dateText);
+        } catch (DateTimeParseException e) {
+            throw new RuntimeException("Expense date must be yyyy-MM-dd: " + dateText);
+        }
+
+        String email = columns.get(record, "email");
+        User owner = email != null ? users.get(key(email)) : importer;
+        if (owner == null) {
+            throw new RuntimeException("Unknown user: " + email);
+        }
+
+        String statusText = columns.get(record, "status");
+        ExpenseStatus status;
+        try {
+            status = statusText != null ? ExpenseStatus.valueOf(statusText.toUpperCase(Locale.ROOT))
+                    : ExpenseStatus.DRAFT;
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid status: " + statusText);
+        }
+
+        return new Row(owner, category, title, description, amount, expenseDate, status,
+                columns.get(record, "receipt_url"));
+    }
+
+    /**
+     * COPYs one chunk and applies its rollup and counter deltas in a single transaction. A failure rolls the chunk
+     * back and is reported by line range rather than ending the import.
+     */
+    private void write(Chunk chunk, ImportReport report) {
+        if (chunk.size() == 0) {
+            return;
+        }
+        try {
+            copy(chunk);
+            report.imported += chunk.size();
+        } catch (RuntimeException e) {
+            log.warn("Import chunk of lines {}-{} failed: {}", chunk.firstLine, chunk.lastLine, e.getMessage());
+            // First line only: the database's detail lines echo whole rows
+            String message = String.valueOf(e.getMessage());
+            report.failChunk(chunk, message.lines().findFirst().orElse(message));
+        }
+    }
+
+    private void copy(Chunk chunk) {
+        transactionTemplate.executeWithoutResult(tx -> {
+            Connection connection = DataSourceUtils.getConnection(dataSource);
+            try {
+                connection.unwrap(PGConnection.class).getCopyAPI()
+                        .copyIn(COPY_SQL, new StringReader(chunk.copyData.toString()));
+            } catch (SQLException | IOException e) {
+                throw new RuntimeException("Import failed: " + e.getMessage(), e);
+            } finally {
+                DataSourceUtils.releaseConnection(connection, dataSource);
+            }
+
+            chunk.buckets.forEach((bucket, delta) -> spendRollupService.addToBucket(chunk.tenantId,
+                    bucket.categoryId, bucket.department, bucket.month, bucket.status, delta.count, delta.amount));
+            chunk.statusCounts.forEach((status, count) -> statusCounters.recordTransitions(chunk.tenantId, null,
+                    status, count));
+            changeVersions.allUsersChanged(chunk.tenantId);
+        });
+    }
+
+    private static String key(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static class Columns {
+        private final Map<String, Integer> indexes = new HashMap<>();
+
+        Columns(List<String> header) {
+            for (int i = 0; i < header.size(); i++) {
+                indexes.put(key(header.get(i)).replace(' ', '_'), i);
+            }
+            for (String required : List.of("title", "amount", "category", "expense_date")) {
+                if (!indexes.containsKey(required)) {
+                    throw new RuntimeException("CSV header is missing required column: " + required);
+                }
+            }
+        }
+
+        // Trimmed value of a column, or null when the column is absent or blank
+        String get(List<String> record, String column) {
+            Integer index = indexes.get(column);
+            if (index == null || index >= record.size()) {
+                return null;
+            }
+            String value = record.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+    }
+
+    private static class Row {
+        private final User owner;
+        private final Category category;
+        private final String title;
+        private final String description;
+        private final BigDecimal amount;
+        private final LocalDate expenseDate;
+        private final ExpenseStatus status;
+        private final String receiptUrl;
+
+        Row(User owner, Category category, String title, String description, BigDecimal amount,
+                LocalDate expenseDate, ExpenseStatus status, String receiptUrl) {
+            this.owner = owner;
+            this.category = category;
+            this.title = title;
+            this.description = description;
+            this.amount = amount;
+            this.expenseDate = expenseDate;
+            this.status = status;
+            this.receiptUrl = receiptUrl;
+        }
+    }
+
+    /**
+     * COPY data for up to CHUNK_SIZE rows plus their aggregated rollup and counter deltas.
+     */
+    private static class Chunk {
+        private final UUID tenantId;
+        private final String now = OffsetDateTime.now().toString();
+        private final StringBuilder copyData = new StringBuilder();
+        private final Map<Bucket, Delta> buckets = new HashMap<>();
+        private final Map<ExpenseStatus, Long> statusCounts = new EnumMap<>(ExpenseStatus.class);
+        private int size = 0;
+        private long firstLine;
+        private long lastLine;
+
+        Chunk(UUID tenantId) {
+            this.tenantId = tenantId;
+        }
+
+        void add(Row row, long line) {
+            if (size == 0) {
+                firstLine = line;
+            }
+            lastLine = line;
+            append(UUID.randomUUID().toString(), false);
+            append(tenantId.toString(), false);
+            append(row.owner.getId().toString(), false);
+            append(row.category.getId().toString(), false);
+            append(row.title, false);
+            append(row.description, false);
+            append(row.amount.toPlainString(), false);
+            append(row.expenseDate.toString(), false);
+            append(row.status.name(), false);
+            append(row.receiptUrl, false);
+            append("0", false);
+            append(now, false);
+            append(now, true);
+
+            Delta delta = buckets.computeIfAbsent(new Bucket(row.category.getId(), row.owner.getDepartment(),
+                    row.expenseDate.withDayOfMonth(1), row.status), b -> new Delta());
+            delta.count++;
+            delta.amount = delta.amount.add(row.amount);
+            statusCounts.merge(row.status, 1L, Long::sum);
+            size++;
+        }
+
+        // Non-null values are always quoted so empty strings stay distinct from NULL
+        private void append(String value, boolean last) {
+            if (value != null) {
+                copyData.append('"').append(value.replace("\"", "\"\"")).append('"');
+            }
+            copyData.append(last ? '\n' : ',');
+        }
+
+        int size() {
+            return size;
+        }
+    }
+
+    private static class Bucket {
+        private final UUID categoryId;
+        private final String department;
+        private final LocalDate month;
+        private final ExpenseStatus status;
+
+        Bucket(UUID categoryId, String department, LocalDate month, ExpenseStatus status) {
+            this.categoryId = categoryId;
+            this.department = department;
+            this.month = month;
+            this.status = status;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Bucket other)) {
+                return false;
+            }
+            return categoryId.equals(other.categoryId) && Objects.equals(department, other.department)
+                    && month.equals(other.month) && status == other.status;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(categoryId, department, month, status);
+        }
+    }
+
+    private static class Delta {
+        private long count;
+        private BigDecimal amount = BigDecimal.ZERO;
+    }
+
+    private static class ImportReport {
+        private long imported;
+        private long failed;
+        private final List<ImportLineError> errors = new ArrayList<>();
+        private boolean errorsTruncated;
+        private final List<ImportChunkError> failedChunks = new ArrayList<>();
+
+        void reject(long line, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ImportLineError(line, message));
+            } else {
+                errorsTruncated = true;
+            }
+        }
+
+        void failChunk(Chunk chunk, String message) {
+            failed += chunk.size();
+            failedChunks.add(new ImportChunkError(chunk.firstLine, chunk.lastLine, chunk.size(), message));
+        }
+    }
+
+    private static class CsvFormatException extends RuntimeException {
+        private final long line;
+
+        CsvFormatException(long line, String message) {
+            super(message);
+            this.line = line;
+        }
+    }
+
+    /**
+     * Minimal RFC 4180 reader: quoted fields may contain commas, doubled quotes and line breaks.
+     * Tracks the line each record starts on for error reports, and caps field length so a malformed
+     * file cannot grow memory without bound.
+     */
+    private static class CsvRecordReader {
+        private final Reader reader;
+        private long line = 1;
+        private long recordLine;
+        private boolean recordTooLong;
+        private int pushedBack = -2;
+        private boolean started;
+
+        CsvRecordReader(Reader reader) {
+            this.reader = reader;
+        }
+
+        long getRecordLine() {
+            return recordLine;
+        }
+
+        boolean isRecordTooLong() {
+            return recordTooLong;
+        }
+
+        List<String> next() throws IOException {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean empty = true;
+            recordLine = line;
+            recordTooLong = false;
+
+            while (true) {
+                int c = read();
+                if (c == -1) {
+                    if (quoted) {
+                        throw new CsvFormatException(recordLine, "Unterminated quoted field");
+                    }
+                    if (empty) {
+                        return null;
+                    }
+                    fields.add(field.toString());
+                    return fields;
+                }
+                empty = false;
+
+                if (quoted) {
+                    if (c == '"') {
+                        int n = read();
+                        if (n == '"') {
+                            appendChar(field, '"');
+                        } else {
+                            quoted = false;
+                            pushedBack = n;
+                        }
+                    } else {
+                        if (c == '\n') {
+                            line++;
+                        }
+                        appendChar(field, (char) c);
+                    }
+                } else if (c == '"' && field.length() == 0) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\r' || c == '\n') {
+                    if (c == '\r') {
+                        int n = read();
+                        if (n != '\n') {
+                            pushedBack = n;
+                        }
+                    }
+                    line++;
+                    fields.add(field.toString());
+                    return fields;
+                } else {
+                    appendChar(field, (char) c);
+                }
+            }
+        }
+
+        private void appendChar(StringBuilder field, char c) {
+            if (field.length() < MAX_FIELD_LENGTH) {
+                field.append(c);
+            } else {
+                recordTooLong = true;
+            }
+        }
+
+        private int read() throws IOException {
+            if (pushedBack != -2) {
+                int c = pushedBack;
+                pushedBack = -2;
+                return c;
+            }
+            int c = reader.read();
+            // Skip a UTF-8 byte order mark at the start of the file
+            if (!started) {
+                started = true;
+                if (c == '\uFEFF') {
+                    c = reader.read();
+                }
+            }
+            return c;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.expenseops.service;
+
+import com.expenseops.dto.ExpenseResponse;
+import com.expenseops.entity.Expense;
+
+/**
+ * Maps expense entities to their API responses. Stateless, so it is shared by ExpenseService and the benchmarks.
+ * The expense's user and category must be loaded (or the category's name and icon passed in).
+ */
+public final class ExpenseMapper {
+
+    private ExpenseMapper() {
+    }
+
+    public static ExpenseResponse toResponse(Expense expense) {
+        return toResponse(expense, expense.getCategory().getName(), expense.getCategory().getIcon());
+    }
+
+    public static ExpenseResponse toResponse(Expense expense, String categoryName, String categoryIcon) {
+        return ExpenseResponse.builder()
+                .id(expense.getId())
+                .title(expense.getTitle())
+                .description(expense.getDescription())
+                .amount(expense.getAmount())
+                .status(expense.getStatus())
+                .rejectionReason(expense.getRejectionReason())
+                .userId(expense.getUser().getId())
+                .userName(expense.getUser().getName())
+                .userDepartment(expense.getUser().getDepartment())
+                .categoryId(expense.getCategory().getId())
+                .categoryName(categoryName)
+                .categoryIcon(categoryIcon)
+                .createdAt(expense.getCreatedAt())
+                .submittedAt(expense.getSubmittedAt())
+                .approvedAt(expense.getApprovedAt())
+                .approvedByName(expense.getApprovedByName())
+                .reimbursedAt(expense.getReimbursedAt())
+                .reimbursedByName(expense.getReimbursedByName())
+                .receiptUrl(expense.getReceiptUrl())
+                .expenseDate(expense.getExpenseDate())
+                .build();
+    }
+}
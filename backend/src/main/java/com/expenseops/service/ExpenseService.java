@@ -1,42 +1,90 @@
 package com.expenseops.service;
 
 import com.expenseops.dto.ApprovalResponse;
+import com.expenseops.dto.CursorPage;
+import com.expenseops.dto.ExpensePreview;
 import com.expenseops.dto.ExpenseRequest;
 import com.expenseops.dto.ExpenseResponse;
+import com.expenseops.dto.ExpenseSummaryResponse;
+import com.expenseops.dto.PageCursor;
+import com.expenseops.dto.RawJson;
+import com.expenseops.dto.SearchCursor;
 import com.expenseops.entity.*;
 import com.expenseops.repository.ApprovalRepository;
+import com.expenseops.repository.CategoryRepository;
 import com.expenseops.repository.ExpenseRepository;
 import com.expenseops.repository.TenantRepository;
+import com.expenseops.repository.UserRepository;
+import com.expenseops.security.AuthenticatedUser;
 import com.expenseops.security.TenantContext;
+import com.expenseops.service.ReferenceDataCache.CachedCategory;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class ExpenseService {
 
+    public static final int MAX_PAGE_SIZE = 200;
+    private static final int MAX_SEARCH_QUERY_LENGTH = 200;
+    private static final int SUMMARY_PREVIEW_SIZE = 5;
+    private static final TypeReference<List<ExpensePreview>> PREVIEW_LIST = new TypeReference<>() {
+    };
+
     private final ExpenseRepository expenseRepository;
     private final ApprovalRepository approvalRepository;
     private final TenantRepository tenantRepository;
+    private final UserRepository userRepository;
+    private final CategoryRepository categoryRepository;
     private final CategoryService categoryService;
+    private final SpendRollupService spendRollupService;
+    private final ExpenseStatusCounters statusCounters;
+    private final ObjectMapper objectMapper;
+    private final AuditService auditService;
+    private final ChangeVersions changeVersions;
+    private final FinalizedExpenseJsonCache finalizedJsonCache;
+    private final WorkflowMetrics workflowMetrics;
 
     public ExpenseService(ExpenseRepository expenseRepository, ApprovalRepository approvalRepository,
-            TenantRepository tenantRepository, CategoryService categoryService) {
+            TenantRepository tenantRepository, UserRepository userRepository,
+            CategoryRepository categoryRepository, CategoryService categoryService,
+            SpendRollupService spendRollupService, ExpenseStatusCounters statusCounters,
+            ObjectMapper objectMapper, AuditService auditService, ChangeVersions changeVersions,
+            FinalizedExpenseJsonCache finalizedJsonCache, WorkflowMetrics workflowMetrics) {
         this.expenseRepository = expenseRepository;
         this.approvalRepository = approvalRepository;
         this.tenantRepository = tenantRepository;
+        this.userRepository = userRepository;
+        this.categoryRepository = categoryRepository;
         this.categoryService = categoryService;
+        this.spendRollupService = spendRollupService;
+        this.statusCounters = statusCounters;
+        this.objectMapper = objectMapper;
+        this.auditService = auditService;
+        this.changeVersions = changeVersions;
+        this.finalizedJsonCache = finalizedJsonCache;
+        this.workflowMetrics = workflowMetrics;
     }
 
-    private User getCurrentUser() {
-        return (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+    private AuthenticatedUser getCurrentUser() {
+        return (AuthenticatedUser) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
     }
 
     private UUID getTenantId() {
@@ -44,62 +92,182 @@ public class ExpenseService {
     }
 
     @Transactional(readOnly = true)
-    public List<ExpenseResponse> getMyExpenses() {
-        User user = getCurrentUser();
-        return expenseRepository.findByUserIdAndTenantIdOrderByCreatedAtDesc(user.getId(), getTenantId())
-                .stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+    public CursorPage<ExpenseResponse> getMyExpenses(String cursor, int limit) {
+        AuthenticatedUser user = getCurrentUser();
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = clampPageSize(limit);
+        List<Expense> rows = expenseRepository.findUserPage(user.getId(), getTenantId(),
+                after.getTimestamp(), after.getId(), Pageable.ofSize(pageSize + 1));
+        return toPage(rows, pageSize, Expense::getCreatedAt);
+    }
+
+    /**
+     * ETag of the current user's expense list; it moves whenever one of their expenses changes.
+     */
+    public String getMyExpensesETag() {
+        AuthenticatedUser user = getCurrentUser();
+        return ChangeVersions.weakETag("mine", user.getId(), changeVersions.getUserVersion(getTenantId(), user.getId()));
+    }
+
+    /**
+     * ETag of the pending approvals list as the current user sees it (their own expenses are excluded); it moves
+     * whenever any expense in the tenant changes.
+     */
+    @PreAuthorize("hasAnyRole('MANAGER', 'FINANCE', 'ADMIN')")
+    public String getPendingApprovalsETag() {
+        return ChangeVersions.weakETag("pending", getCurrentUser().getId(),
+                changeVersions.getTenantVersion(getTenantId()));
     }
 
     @Transactional(readOnly = true)
     @PreAuthorize("hasAnyRole('MANAGER', 'FINANCE', 'ADMIN')")
-    public List<ExpenseResponse> getPendingApprovals() {
-        User user = getCurrentUser();
-        UUID tenantId = getTenantId();
-        System.out.println("DEBUG: getPendingApprovals called by User: " + user.getId() + " (" + user.getEmail() + ")");
-        System.out.println("DEBUG: Tenant ID: " + tenantId);
+    public CursorPage<ExpenseResponse> getPendingApprovals(String cursor, int limit) {
+        AuthenticatedUser user = getCurrentUser();
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = clampPageSize(limit);
+        List<Expense> rows = expenseRepository.findStatusPageExcludingUser(getTenantId(),
+                ExpenseStatus.SUBMITTED.name(), user.getId(), after.getTimestamp(), after.getId(),
+                Pageable.ofSize(pageSize + 1));
+        return toPage(rows, pageSize, Expense::getCreatedAt);
+    }
 
-        List<Expense> expenses = expenseRepository
-                .findByTenantIdAndStatusAndUserIdNot(tenantId, ExpenseStatus.SUBMITTED.name(), user.getId());
+    @Transactional(readOnly = true)
+    @PreAuthorize("hasAnyRole('MANAGER', 'FINANCE', 'ADMIN')")
+    public CursorPage<RawJson> getApprovalHistory(String cursor, int limit) {
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = clampPageSize(limit);
+        List<ExpenseRepository.ExpenseJsonKey> keys = expenseRepository.findHistoryKeysByUpdatedAt(getTenantId(),
+                after.getTimestamp(), after.getId(), Pageable.ofSize(pageSize + 1));
+
+        String nextCursor = null;
+        if (keys.size() > pageSize) {
+            keys = keys.subList(0, pageSize);
+            ExpenseRepository.ExpenseJsonKey last = keys.get(pageSize - 1);
+            nextCursor = new PageCursor(last.getUpdatedAt(), last.getId()).encode();
+        }
 
-        System.out.println("DEBUG: Found " + expenses.size() + " pending expenses for tenant " + tenantId);
-        expenses.forEach(e -> System.out.println("DEBUG: Expense " + e.getId() + " - User: " + e.getUser().getId()));
+        // Finalized expenses come from the JSON cache; only the rest are loaded and serialized
+        Map<UUID, RawJson> cached = new HashMap<>();
+        List<UUID> missing = new ArrayList<>();
+        for (ExpenseRepository.ExpenseJsonKey key : keys) {
+            RawJson json = ExpenseStatus.REIMBURSED.name().equals(key.getStatus())
+                    ? finalizedJsonCache.get(key.getId(), key.getVersion(), FinalizedExpenseJsonCache.labels(
+                            key.getUserName(), key.getUserDepartment(), key.getCategoryName(), key.getCategoryIcon()))
+                    : null;
+            if (json != null) {
+                cached.put(key.getId(), json);
+            } else {
+                missing.add(key.getId());
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (Expense expense : expenseRepository.findByIdIn(missing)) {
+                cached.put(expense.getId(), toJson(expense));
+            }
+        }
 
-        return expenses.stream()
-                .map(this::toResponse)
+        // An expense deleted between the two queries is left out
+        List<RawJson> items = keys.stream()
+                .map(key -> cached.get(key.getId()))
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
+        return new CursorPage<>(items, nextCursor);
     }
 
     @Transactional(readOnly = true)
-    @PreAuthorize("hasAnyRole('MANAGER', 'FINANCE', 'ADMIN')")
-    public List<ExpenseResponse> getApprovalHistory() {
-        UUID tenantId = getTenantId();
-        List<String> historyStatuses = Arrays.asList(
-                ExpenseStatus.APPROVED.name(),
-                ExpenseStatus.REJECTED.name(),
-                ExpenseStatus.REIMBURSED.name());
-        return expenseRepository.findByTenantIdAndStatusInOrderByUpdatedAtDesc(tenantId, historyStatuses)
-                .stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+    @PreAuthorize("hasAnyRole('FINANCE', 'ADMIN')")
+    public CursorPage<ExpenseResponse> getApprovedForReimbursement(String cursor, int limit) {
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = clampPageSize(limit);
+        List<Expense> rows = expenseRepository.findStatusPage(getTenantId(), ExpenseStatus.APPROVED.name(),
+                after.getTimestamp(), after.getId(), Pageable.ofSize(pageSize + 1));
+        return toPage(rows, pageSize, Expense::getCreatedAt);
     }
 
     @Transactional(readOnly = true)
-    @PreAuthorize("hasAnyRole('FINANCE', 'ADMIN')")
-    public List<ExpenseResponse> getApprovedForReimbursement() {
-        return expenseRepository
-                .findByTenantIdAndStatusOrderByCreatedAtDesc(getTenantId(), ExpenseStatus.APPROVED.name())
+    public CursorPage<ExpenseResponse> searchExpenses(String query, String cursor, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new RuntimeException("Search query is required");
+        }
+        if (query.length() > MAX_SEARCH_QUERY_LENGTH) {
+            throw new RuntimeException("Search query must not exceed " + MAX_SEARCH_QUERY_LENGTH + " characters");
+        }
+
+        AuthenticatedUser user = getCurrentUser();
+        // Employees search their own expenses; approvers search the whole tenant
+        boolean ownOnly = user.getRole() == UserRole.EMPLOYEE;
+        SearchCursor after = SearchCursor.decode(cursor);
+        int pageSize = clampPageSize(limit);
+
+        List<ExpenseRepository.SearchHit> hits = expenseRepository.searchPage(getTenantId(), user.getId(), ownOnly,
+                query, after.getRank(), after.getId(), pageSize + 1);
+        String nextCursor = null;
+        if (hits.size() > pageSize) {
+            hits = hits.subList(0, pageSize);
+            ExpenseRepository.SearchHit last = hits.get(pageSize - 1);
+            nextCursor = new SearchCursor(last.getRank(), last.getId()).encode();
+        }
+
+        // Load the page in one statement, then restore rank order; an expense deleted in between is left out
+        Map<UUID, Expense> byId = expenseRepository.findByIdIn(hits.stream()
+                .map(ExpenseRepository.SearchHit::getId)
+                .collect(Collectors.toList()))
                 .stream()
-                .map(this::toResponse)
+                .collect(Collectors.toMap(Expense::getId, Function.identity()));
+        List<ExpenseResponse> items = hits.stream()
+                .map(hit -> byId.get(hit.getId()))
+                .filter(Objects::nonNull)
+                .map(ExpenseMapper::toResponse)
                 .collect(Collectors.toList());
+        return new CursorPage<>(items, nextCursor);
     }
 
     @Transactional(readOnly = true)
-    public ExpenseResponse getExpenseById(UUID id) {
+    public ExpenseSummaryResponse getSummary() {
+        AuthenticatedUser user = getCurrentUser();
+        boolean approver = user.getRole() != UserRole.EMPLOYEE;
+        boolean finance = user.getRole() == UserRole.FINANCE || user.getRole() == UserRole.ADMIN;
+        ExpenseRepository.SummaryRow row = expenseRepository.getSummary(getTenantId(), user.getId(), approver,
+                finance, SUMMARY_PREVIEW_SIZE);
+
+        Map<ExpenseStatus, Long> myCounts = new EnumMap<>(ExpenseStatus.class);
+        myCounts.put(ExpenseStatus.DRAFT, row.getDraftCount());
+        myCounts.put(ExpenseStatus.SUBMITTED, row.getSubmittedCount());
+        myCounts.put(ExpenseStatus.APPROVED, row.getApprovedCount());
+        myCounts.put(ExpenseStatus.REJECTED, row.getRejectedCount());
+        myCounts.put(ExpenseStatus.REIMBURSED, row.getReimbursedCount());
+
+        ExpenseSummaryResponse.Builder summary = ExpenseSummaryResponse.builder()
+                .myCounts(myCounts)
+                .myTotalAmount(row.getMyTotalAmount())
+                .myPendingAmount(row.getMyPendingAmount())
+                .myApprovedAmount(row.getMyApprovedAmount())
+                .myRejectedAmount(row.getMyRejectedAmount())
+                .recentExpenses(readPreviews(row.getRecentExpenses()));
+        if (approver) {
+            summary.pendingApprovalCount(row.getPendingApprovalCount())
+                    .pendingApprovalAmount(row.getPendingApprovalAmount())
+                    .pendingApprovals(readPreviews(row.getPendingApprovals()));
+        }
+        if (finance) {
+            summary.awaitingReimbursementCount(row.getAwaitingReimbursementCount())
+                    .awaitingReimbursementAmount(row.getAwaitingReimbursementAmount())
+                    .awaitingReimbursement(readPreviews(row.getAwaitingReimbursement()));
+        }
+        return summary.build();
+    }
+
+    // Badge counts, served from in-memory counters rather than COUNT queries
+    @PreAuthorize("hasAnyRole('MANAGER', 'FINANCE', 'ADMIN')")
+    public Map<ExpenseStatus, Long> getStatusCounts() {
+        return statusCounters.getCounts(getTenantId());
+    }
+
+    @Transactional(readOnly = true)
+    public RawJson getExpenseById(UUID id) {
         Expense expense = expenseRepository.findByIdAndTenantId(id, getTenantId())
                 .orElseThrow(() -> new RuntimeException("Expense not found"));
-        return toResponse(expense);
+        return toJson(expense);
     }
 
     @Transactional(readOnly = true)
@@ -116,15 +284,15 @@ public class ExpenseService {
 
     @Transactional
     public ExpenseResponse createExpense(ExpenseRequest request) {
-        User user = getCurrentUser();
-        Tenant tenant = tenantRepository.findById(getTenantId())
-                .orElseThrow(() -> new RuntimeException("Tenant not found"));
-        Category category = categoryService.getCategoryById(request.getCategoryId());
+        workflowMetrics.timeTransition("create");
+        AuthenticatedUser user = getCurrentUser();
+        // Validated against the reference data cache, so only references are needed here
+        CachedCategory category = categoryService.getCategoryById(request.getCategoryId());
 
         Expense expense = new Expense();
-        expense.setTenant(tenant);
-        expense.setUser(user);
-        expense.setCategory(category);
+        expense.setTenant(tenantRepository.getReferenceById(getTenantId()));
+        expense.setUser(userRepository.getReferenceById(user.getId()));
+        expense.setCategory(categoryRepository.getReferenceById(category.getId()));
         expense.setTitle(request.getTitle());
         expense.setDescription(request.getDescription());
         expense.setAmount(request.getAmount());
@@ -134,7 +302,11 @@ public class ExpenseService {
         expense.setExpenseDate(request.getExpenseDate());
 
         expense = expenseRepository.saveAndFlush(expense);
-        return toResponse(expense);
+        spendRollupService.add(expense);
+        statusCounters.recordTransition(getTenantId(), null, ExpenseStatus.DRAFT);
+        changeVersions.userChanged(getTenantId(), expense.getUser().getId());
+        auditService.record(AuditService.EXPENSE, expense.getId(), "CREATED", null, auditSnapshot(expense));
+        return toResponse(expense, category);
     }
 
     @Transactional
@@ -145,13 +317,15 @@ public class ExpenseService {
             throw new RuntimeException("Can only edit DRAFT or REJECTED expenses");
         }
 
-        Category category = categoryService.getCategoryById(request.getCategoryId());
+        CachedCategory category = categoryService.getCategoryById(request.getCategoryId());
+        Map<String, Object> before = auditSnapshot(expense);
+        spendRollupService.remove(expense);
 
         expense.setTitle(request.getTitle());
         expense.setDescription(request.getDescription());
         expense.setAmount(request.getAmount());
         expense.setAmount(request.getAmount());
-        expense.setCategory(category);
+        expense.setCategory(categoryRepository.getReferenceById(category.getId()));
         expense.setReceiptUrl(request.getReceiptUrl());
         expense.setExpenseDate(request.getExpenseDate());
 
@@ -159,72 +333,100 @@ public class ExpenseService {
         if (expense.getStatus() == ExpenseStatus.REJECTED) {
             expense.setStatus(ExpenseStatus.DRAFT);
             expense.setRejectionReason(null);
+            statusCounters.recordTransition(getTenantId(), ExpenseStatus.REJECTED, ExpenseStatus.DRAFT);
         }
 
         expense = expenseRepository.save(expense);
-        return toResponse(expense);
+        spendRollupService.add(expense);
+        changeVersions.userChanged(getTenantId(), expense.getUser().getId());
+        auditService.record(AuditService.EXPENSE, expense.getId(), "UPDATED", before, auditSnapshot(expense));
+        return toResponse(expense, category);
     }
 
     @Transactional
     public ExpenseResponse submitExpense(UUID id) {
+        workflowMetrics.timeTransition("submit");
         Expense expense = getExpenseForOwner(id);
 
         if (expense.getStatus() != ExpenseStatus.DRAFT) {
             throw new RuntimeException("Can only submit DRAFT expenses");
         }
 
+        Map<String, Object> before = auditSnapshot(expense);
+        spendRollupService.remove(expense);
         expense.setStatus(ExpenseStatus.SUBMITTED);
         expense.setSubmittedAt(OffsetDateTime.now());
         expense = expenseRepository.save(expense);
+        spendRollupService.add(expense);
+        statusCounters.recordTransition(getTenantId(), ExpenseStatus.DRAFT, ExpenseStatus.SUBMITTED);
+        changeVersions.userChanged(getTenantId(), expense.getUser().getId());
+        auditService.record(AuditService.EXPENSE, expense.getId(), "SUBMITTED", before, auditSnapshot(expense));
 
         // Record approval history
         createApproval(expense, ApprovalAction.SUBMITTED, null);
 
-        return toResponse(expense);
+        return ExpenseMapper.toResponse(expense);
     }
 
     @Transactional
     @PreAuthorize("hasAnyRole('MANAGER', 'FINANCE', 'ADMIN')")
     public ExpenseResponse approveExpense(UUID id) {
+        workflowMetrics.timeTransition("approve");
         Expense expense = getExpenseForApproval(id);
 
         if (expense.getStatus() != ExpenseStatus.SUBMITTED) {
             throw new RuntimeException("Can only approve SUBMITTED expenses");
         }
 
-        User currentUser = getCurrentUser();
+        AuthenticatedUser currentUser = getCurrentUser();
+        Map<String, Object> before = auditSnapshot(expense);
+        spendRollupService.remove(expense);
         expense.setStatus(ExpenseStatus.APPROVED);
         expense.setApprovedAt(OffsetDateTime.now());
         expense.setApprovedById(currentUser.getId());
         expense.setApprovedByName(currentUser.getName());
         expense = expenseRepository.save(expense);
+        spendRollupService.add(expense);
+        statusCounters.recordTransition(getTenantId(), ExpenseStatus.SUBMITTED, ExpenseStatus.APPROVED);
+        workflowMetrics.recordDecisions(getTenantId(), ExpenseStatus.APPROVED, 1);
+        changeVersions.userChanged(getTenantId(), expense.getUser().getId());
+        auditService.record(AuditService.EXPENSE, expense.getId(), "APPROVED", before, auditSnapshot(expense));
 
         createApproval(expense, ApprovalAction.APPROVED, null);
 
-        return toResponse(expense);
+        return ExpenseMapper.toResponse(expense);
     }
 
     @Transactional
     @PreAuthorize("hasAnyRole('MANAGER', 'FINANCE', 'ADMIN')")
     public ExpenseResponse rejectExpense(UUID id, String reason) {
+        workflowMetrics.timeTransition("reject");
         Expense expense = getExpenseForApproval(id);
 
         if (expense.getStatus() != ExpenseStatus.SUBMITTED) {
             throw new RuntimeException("Can only reject SUBMITTED expenses");
         }
 
+        Map<String, Object> before = auditSnapshot(expense);
+        spendRollupService.remove(expense);
         expense.setStatus(ExpenseStatus.REJECTED);
         expense.setRejectionReason(reason);
         expense = expenseRepository.save(expense);
+        spendRollupService.add(expense);
+        statusCounters.recordTransition(getTenantId(), ExpenseStatus.SUBMITTED, ExpenseStatus.REJECTED);
+        workflowMetrics.recordDecisions(getTenantId(), ExpenseStatus.REJECTED, 1);
+        changeVersions.userChanged(getTenantId(), expense.getUser().getId());
+        auditService.record(AuditService.EXPENSE, expense.getId(), "REJECTED", before, auditSnapshot(expense));
 
         createApproval(expense, ApprovalAction.REJECTED, reason);
 
-        return toResponse(expense);
+        return ExpenseMapper.toResponse(expense);
     }
 
     @Transactional
     @PreAuthorize("hasAnyRole('FINANCE', 'ADMIN')")
     public ExpenseResponse reimburseExpense(UUID id) {
+        workflowMetrics.timeTransition("reimburse");
         Expense expense = expenseRepository.findByIdAndTenantId(id, getTenantId())
                 .orElseThrow(() -> new RuntimeException("Expense not found"));
 
@@ -232,16 +434,22 @@ public class ExpenseService {
             throw new RuntimeException("Can only reimburse APPROVED expenses");
         }
 
-        User currentUser = getCurrentUser();
+        AuthenticatedUser currentUser = getCurrentUser();
+        Map<String, Object> before = auditSnapshot(expense);
+        spendRollupService.remove(expense);
         expense.setStatus(ExpenseStatus.REIMBURSED);
         expense.setReimbursedAt(OffsetDateTime.now());
         expense.setReimbursedById(currentUser.getId());
         expense.setReimbursedByName(currentUser.getName());
         expense = expenseRepository.save(expense);
+        spendRollupService.add(expense);
+        statusCounters.recordTransition(getTenantId(), ExpenseStatus.APPROVED, ExpenseStatus.REIMBURSED);
+        changeVersions.userChanged(getTenantId(), expense.getUser().getId());
+        auditService.record(AuditService.EXPENSE, expense.getId(), "REIMBURSED", before, auditSnapshot(expense));
 
         createApproval(expense, ApprovalAction.REIMBURSED, null);
 
-        return toResponse(expense);
+        return ExpenseMapper.toResponse(expense);
     }
 
     @Transactional
@@ -252,11 +460,37 @@ public class ExpenseService {
             throw new RuntimeException("Can only delete DRAFT expenses");
         }
 
+        spendRollupService.remove(expense);
         expenseRepository.delete(expense);
+        statusCounters.recordTransition(getTenantId(), ExpenseStatus.DRAFT, null);
+        changeVersions.userChanged(getTenantId(), expense.getUser().getId());
+        auditService.record(AuditService.EXPENSE, expense.getId(), "DELETED", auditSnapshot(expense), null);
+    }
+
+    // Fields tracked in the audit trail
+    static Map<String, Object> auditSnapshot(Expense expense) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("title", expense.getTitle());
+        values.put("description", expense.getDescription());
+        values.put("amount", expense.getAmount());
+        values.put("categoryId", expense.getCategory().getId());
+        values.put("expenseDate", expense.getExpenseDate());
+        values.put("receiptUrl", expense.getReceiptUrl());
+        values.put("status", expense.getStatus());
+        values.put("rejectionReason", expense.getRejectionReason());
+        return values;
+    }
+
+    private List<ExpensePreview> readPreviews(String json) {
+        try {
+            return objectMapper.readValue(json, PREVIEW_LIST);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to read expense summary", e);
+        }
     }
 
     private Expense getExpenseForOwner(UUID id) {
-        User user = getCurrentUser();
+        AuthenticatedUser user = getCurrentUser();
         Expense expense = expenseRepository.findByIdAndTenantId(id, getTenantId())
                 .orElseThrow(() -> new RuntimeException("Expense not found"));
 
@@ -268,7 +502,7 @@ public class ExpenseService {
     }
 
     private Expense getExpenseForApproval(UUID id) {
-        User user = getCurrentUser();
+        AuthenticatedUser user = getCurrentUser();
         Expense expense = expenseRepository.findByIdAndTenantId(id, getTenantId())
                 .orElseThrow(() -> new RuntimeException("Expense not found"));
 
@@ -281,39 +515,50 @@ public class ExpenseService {
     }
 
     private void createApproval(Expense expense, ApprovalAction action, String comment) {
-        User actor = getCurrentUser();
+        AuthenticatedUser actor = getCurrentUser();
         Approval approval = new Approval();
         approval.setTenant(expense.getTenant());
         approval.setExpense(expense);
-        approval.setActor(actor);
+        approval.setActor(userRepository.getReferenceById(actor.getId()));
         approval.setAction(action);
         approval.setComment(comment);
         approvalRepository.save(approval);
     }
 
-    private ExpenseResponse toResponse(Expense expense) {
-        return ExpenseResponse.builder()
-                .id(expense.getId())
-                .title(expense.getTitle())
-                .description(expense.getDescription())
-                .amount(expense.getAmount())
-                .status(expense.getStatus())
-                .rejectionReason(expense.getRejectionReason())
-                .userId(expense.getUser().getId())
-                .userName(expense.getUser().getName())
-                .userDepartment(expense.getUser().getDepartment())
-                .categoryId(expense.getCategory().getId())
-                .categoryName(expense.getCategory().getName())
-                .categoryIcon(expense.getCategory().getIcon())
-                .createdAt(expense.getCreatedAt())
-                .submittedAt(expense.getSubmittedAt())
-                .approvedAt(expense.getApprovedAt())
-                .approvedByName(expense.getApprovedByName())
-                .reimbursedAt(expense.getReimbursedAt())
-                .reimbursedByName(expense.getReimbursedByName())
-                .receiptUrl(expense.getReceiptUrl())
-                .expenseDate(expense.getExpenseDate())
-                .build();
+    private int clampPageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    // Rows are fetched with one extra element; its presence means another page exists
+    private CursorPage<ExpenseResponse> toPage(List<Expense> rows, int pageSize,
+            Function<Expense, OffsetDateTime> sortKey) {
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            Expense last = rows.get(pageSize - 1);
+            nextCursor = new PageCursor(sortKey.apply(last), last.getId()).encode();
+        }
+        List<ExpenseResponse> items = rows.stream()
+                .map(ExpenseMapper::toResponse)
+                .collect(Collectors.toList());
+        return new CursorPage<>(items, nextCursor);
+    }
+
+    // REIMBURSED expenses are final, so their JSON is served from and kept in the cache
+    private RawJson toJson(Expense expense) {
+        if (expense.getStatus() != ExpenseStatus.REIMBURSED) {
+            return finalizedJsonCache.serialize(ExpenseMapper.toResponse(expense));
+        }
+        String labels = FinalizedExpenseJsonCache.labels(expense.getUser().getName(),
+                expense.getUser().getDepartment(), expense.getCategory().getName(), expense.getCategory().getIcon());
+        RawJson json = finalizedJsonCache.get(expense.getId(), expense.getVersion(), labels);
+        return json != null ? json : finalizedJsonCache.put(expense.getId(), expense.getVersion(), labels,
+                ExpenseMapper.toResponse(expense));
+    }
+
+    // Category name and icon from the reference data cache, so the category itself need not be loaded
+    private ExpenseResponse toResponse(Expense expense, CachedCategory category) {
+        return ExpenseMapper.toResponse(expense, category.getName(), category.getIcon());
     }
 
     private ApprovalResponse toApprovalResponse(Approval approval) {
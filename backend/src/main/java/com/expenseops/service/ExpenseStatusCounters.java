@@ -0,0 +1,182 @@
+package com.expenseops.service;
+
+import com.expenseops.entity.ExpenseStatus;
+import com.expenseops.repository.ExpenseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory expense counts per tenant and status, so badge counts never hit the database.
+ * A tenant's counters are loaded from the database on first read, moved by workflow transitions
+ * after their transaction commits, and periodically reconciled against the database to correct
+ * drift (e.g. writes made by another instance).
+ * Transitions applied while a database read is in flight are recorded and added on top of what it returns, so
+ * neither the first load nor a reconcile loses them. Each tenant has at most one database read in flight, and
+ * reads of different tenants never wait on each other.
+ */
+@Component
+public class ExpenseStatusCounters {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpenseStatusCounters.class);
+    private static final ExpenseStatus[] STATUSES = ExpenseStatus.values();
+
+    private final ExpenseRepository expenseRepository;
+    private final ConcurrentHashMap<UUID, TenantCounts> counters = new ConcurrentHashMap<>();
+
+    public ExpenseStatusCounters(ExpenseRepository expenseRepository) {
+        this.expenseRepository = expenseRepository;
+    }
+
+    public Map<ExpenseStatus, Long> getCounts(UUID tenantId) {
+        TenantCounts counts = counters.computeIfAbsent(tenantId, id -> new TenantCounts());
+        if (!counts.isLoaded()) {
+            synchronized (counts.databaseRead) {
+                if (!counts.isLoaded()) {
+                    readFromDatabase(tenantId, counts);
+                }
+            }
+        }
+        return counts.snapshot();
+    }
+
+    /**
+     * Records an expense moving from one status to another once the current transaction commits.
+     * Pass null as from for a new expense and null as to for a deleted one.
+     */
+    public void recordTransition(UUID tenantId, ExpenseStatus from, ExpenseStatus to) {
+        recordTransitions(tenantId, from, to, 1);
+    }
+
+    /**
+     * Records count expenses moving between the same two statuses, e.g. after a bulk action.
+     */
+    public void recordTransitions(UUID tenantId, ExpenseStatus from, ExpenseStatus to, long count) {
+        if (count == 0) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(tenantId, from, to, count);
+                }
+            });
+        } else {
+            apply(tenantId, from, to, count);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${expenseops.counters.reconcile-interval-ms:300000}",
+            initialDelayString = "${expenseops.counters.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        // Tenant by tenant, so a first load only ever waits for the read of its own tenant
+        long drift = 0;
+        int drifted = 0;
+        for (Map.Entry<UUID, TenantCounts> entry : counters.entrySet()) {
+            TenantCounts counts = entry.getValue();
+            long tenantDrift;
+            synchronized (counts.databaseRead) {
+                if (!counts.isLoaded()) {
+                    // Its first load failed; the next read loads it
+                    continue;
+                }
+                tenantDrift = readFromDatabase(entry.getKey(), counts);
+            }
+            if (tenantDrift > 0) {
+                drift += tenantDrift;
+                drifted++;
+            }
+        }
+        if (drift > 0) {
+            log.warn("Reconciled expense status counters: corrected drift of {} in {} tenant(s)", drift, drifted);
+        }
+    }
+
+    private void apply(UUID tenantId, ExpenseStatus from, ExpenseStatus to, long count) {
+        TenantCounts counts = counters.get(tenantId);
+        if (counts == null) {
+            // Never read; the first read will count from the database
+            return;
+        }
+        counts.apply(from, to, count);
+    }
+
+    /**
+     * Sets the tenant's counters to the database counts plus whatever was applied during the read, and returns
+     * how far they were off if already loaded. Callers hold the tenant's databaseRead lock.
+     */
+    private long readFromDatabase(UUID tenantId, TenantCounts counts) {
+        counts.startRecording();
+        long[] actual = new long[STATUSES.length];
+        for (ExpenseRepository.StatusCount row : expenseRepository.countByStatusForTenants(List.of(tenantId))) {
+            actual[ExpenseStatus.valueOf(row.getStatus()).ordinal()] = row.getCount();
+        }
+        return counts.reset(actual);
+    }
+
+    private static final class TenantCounts {
+
+        // Held for the whole database read; separate from the counts' monitor, so transitions still apply meanwhile
+        private final Object databaseRead = new Object();
+        private final long[] counts = new long[STATUSES.length];
+        // Deltas applied since the current database read started, or null when none is in flight
+        private long[] sinceRead;
+        private boolean loaded;
+
+        synchronized boolean isLoaded() {
+            return loaded;
+        }
+
+        synchronized Map<ExpenseStatus, Long> snapshot() {
+            Map<ExpenseStatus, Long> snapshot = new EnumMap<>(ExpenseStatus.class);
+            for (ExpenseStatus status : STATUSES) {
+                snapshot.put(status, counts[status.ordinal()]);
+            }
+            return snapshot;
+        }
+
+        synchronized void apply(ExpenseStatus from, ExpenseStatus to, long count) {
+            add(counts, from, to, count);
+            if (sinceRead != null) {
+                add(sinceRead, from, to, count);
+            }
+        }
+
+        synchronized void startRecording() {
+            sinceRead = new long[STATUSES.length];
+        }
+
+        synchronized long reset(long[] database) {
+            long drift = 0;
+            for (int i = 0; i < STATUSES.length; i++) {
+                long expected = database[i] + sinceRead[i];
+                if (loaded) {
+                    drift += Math.abs(expected - counts[i]);
+                }
+                counts[i] = expected;
+            }
+            sinceRead = null;
+            loaded = true;
+            return drift;
+        }
+
+        private static void add(long[] target, ExpenseStatus from, ExpenseStatus to, long count) {
+            if (from != null) {
+                target[from.ordinal()] -= count;
+            }
+            if (to != null) {
+                target[to.ordinal()] += count;
+            }
+        }
+    }
+}
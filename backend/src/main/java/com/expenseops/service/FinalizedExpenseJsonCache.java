@@ -0,0 +1,109 @@
+package com.expenseops.service;
+
+import com.expenseops.dto.ExpenseResponse;
+import com.expenseops.dto.RawJson;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Serialized JSON of REIMBURSED expenses, which never change again, keyed by id and @Version.
+ * The user and category names shown on an expense can still change, so each entry remembers the labels it was
+ * serialized with and is only served while they match. The cache is bounded by the total size of the JSON
+ * (expenseops.finalized-json-cache.max-bytes) rather than by entry count.
+ */
+@Component
+public class FinalizedExpenseJsonCache {
+
+    // Rough per-entry overhead on top of the JSON itself (key, entry, labels)
+    private static final int ENTRY_OVERHEAD_BYTES = 200;
+
+    private final ObjectMapper objectMapper;
+    private final Cache<Key, Entry> entries;
+
+    public FinalizedExpenseJsonCache(ObjectMapper objectMapper,
+            @Value("${expenseops.finalized-json-cache.max-bytes:33554432}") long maxBytes,
+            MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .<Key, Entry>weigher((key, entry) -> entry.json.length() + ENTRY_OVERHEAD_BYTES)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, "expense.finalized.json");
+    }
+
+    /**
+     * Returns the cached JSON, or null when it is missing or was serialized with different labels.
+     */
+    public RawJson get(UUID id, int version, String labels) {
+        Entry entry = entries.getIfPresent(new Key(id, version));
+        return entry != null && entry.labels.equals(labels) ? entry.json : null;
+    }
+
+    public RawJson put(UUID id, int version, String labels, ExpenseResponse response) {
+        RawJson json = serialize(response);
+        entries.put(new Key(id, version), new Entry(labels, json));
+        return json;
+    }
+
+    public RawJson serialize(ExpenseResponse response) {
+        try {
+            return new RawJson(objectMapper.writeValueAsBytes(response));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize expense " + response.getId(), e);
+        }
+    }
+
+    /**
+     * The joined values an expense's JSON depends on besides the expense row itself.
+     */
+    public static String labels(String userName, String userDepartment, String categoryName, String categoryIcon) {
+        return userName + '\u0000' + userDepartment + '\u0000' + categoryName + '\u0000' + categoryIcon;
+    }
+
+    private static final class Key {
+        private final UUID id;
+        private final int version;
+
+        private Key(UUID id, int version) {
+            this.id = id;
+            this.version = version;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return version == other.version && id.equals(other.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(id, version);
+        }
+    }
+
+    private static final class Entry {
+        private final String labels;
+        private final RawJson json;
+
+        private Entry(String labels, RawJson json) {
+            this.labels = labels;
+            this.json = json;
+        }
+    }
+}
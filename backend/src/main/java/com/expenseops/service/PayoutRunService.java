@@ -0,0 +1,351 @@
+package com.expenseops.service;
+
+import com.expenseops.dto.PageCursor;
+import com.expenseops.dto.PayoutRunResponse;
+import com.expenseops.entity.ExpenseStatus;
+import com.expenseops.entity.PayoutRun;
+import com.expenseops.entity.PayoutRunStatus;
+import com.expenseops.repository.ExpenseRepository;
+import com.expenseops.repository.PayoutRunRepository;
+import com.expenseops.security.AuthenticatedUser;
+import com.expenseops.security.TenantContext;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Reimburses a tenant's APPROVED expenses in payout runs.
+ * A run walks the approved set newest first in keyset chunks of chunkSize; each chunk is one transaction that
+ * locks the run row, reimburses the chunk with the set-based bulk statement, and advances the run's cursor and
+ * totals. Only the current chunk is ever in memory and no transaction spans more than one chunk, so a run
+ * interrupted by a crash is resumed from its cursor at the next startup, and one whose worker died without
+ * marking it FAILED is picked up by the stale-run sweep once it has not advanced for stale-after-ms.
+ */
+@Service
+public class PayoutRunService {
+
+    private static final Logger log = LoggerFactory.getLogger(PayoutRunService.class);
+
+    private static final int DEFAULT_CHUNK_SIZE = 500;
+    private static final int MAX_CHUNK_SIZE = 5000;
+    private static final List<String> ACTIVE_STATUSES = List.of(PayoutRunStatus.PENDING.name(),
+            PayoutRunStatus.RUNNING.name());
+
+    private final PayoutRunRepository payoutRunRepository;
+    private final ExpenseRepository expenseRepository;
+    private final ExpenseStatusCounters statusCounters;
+    private final AuditService auditService;
+    private final ChangeVersions changeVersions;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor executor;
+    private final long staleAfterMs;
+    // Runs this instance is working on, so the sweep never restarts one that is only slow
+    private final Set<UUID> processing = ConcurrentHashMap.newKeySet();
+
+    public PayoutRunService(PayoutRunRepository payoutRunRepository, ExpenseRepository expenseRepository,
+            ExpenseStatusCounters statusCounters, AuditService auditService, ChangeVersions changeVersions,
+            PlatformTransactionManager transactionManager,
+            @Value("${expenseops.payouts.stale-after-ms:300000}") long staleAfterMs) {
+        this.payoutRunRepository = payoutRunRepository;
+        this.expenseRepository = expenseRepository;
+        this.statusCounters = statusCounters;
+        this.auditService = auditService;
+        this.changeVersions = changeVersions;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.staleAfterMs = staleAfterMs;
+
+        // Kept private rather than a bean so it does not replace Spring's default task executor
+        this.executor = new ThreadPoolTaskExecutor();
+        this.executor.setCorePoolSize(2);
+        this.executor.setMaxPoolSize(2);
+        this.executor.setThreadNamePrefix("payout-");
+        this.executor.initialize();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @Transactional
+    @PreAuthorize("hasAnyRole('FINANCE', 'ADMIN')")
+    public PayoutRunResponse createRun(Integer chunkSize) {
+        UUID tenantId = TenantContext.getCurrentTenant();
+        AuthenticatedUser user = (AuthenticatedUser) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        int size = chunkSize != null ? chunkSize : DEFAULT_CHUNK_SIZE;
+        if (size < 1 || size > MAX_CHUNK_SIZE) {
+            throw new RuntimeException("Chunk size must be between 1 and " + MAX_CHUNK_SIZE);
+        }
+        if (payoutRunRepository.existsByTenantIdAndStatusIn(tenantId, ACTIVE_STATUSES)) {
+            throw new RuntimeException("A payout run is already in progress");
+        }
+
+        OffsetDateTime now = OffsetDateTime.now();
+        PayoutRun run = new PayoutRun();
+        run.setId(UUID.randomUUID());
+        run.setTenantId(tenantId);
+        run.setCreatedById(user.getId());
+        run.setCreatedByName(user.getName());
+        run.setStatus(PayoutRunStatus.PENDING);
+        run.setChunkSize(size);
+        run.setCutoff(now);
+        run.setExpectedCount(expenseRepository.countPayable(tenantId, now));
+        run.setProcessedCount(0L);
+        run.setTotalAmount(BigDecimal.ZERO);
+        run.setChunksCompleted(0);
+        run.setCreatedAt(now);
+        run.setUpdatedAt(now);
+        run = payoutRunRepository.save(run);
+
+        startAfterCommit(run.getId());
+        return toResponse(run);
+    }
+
+    @Transactional(readOnly = true)
+    @PreAuthorize("hasAnyRole('FINANCE', 'ADMIN')")
+    public List<PayoutRunResponse> getRuns() {
+        return payoutRunRepository.findTop50ByTenantIdOrderByCreatedAtDesc(TenantContext.getCurrentTenant())
+                .stream()
+                .map(this::toResponse)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    @PreAuthorize("hasAnyRole('FINANCE', 'ADMIN')")
+    public PayoutRunResponse getRun(UUID id) {
+        return toResponse(findRun(id));
+    }
+
+    /**
+     * Stops a run after its current chunk; expenses already paid stay REIMBURSED.
+     */
+    @Transactional
+    @PreAuthorize("hasAnyRole('FINANCE', 'ADMIN')")
+    public PayoutRunResponse cancelRun(UUID id) {
+        // Waits for the run's current chunk to commit
+        PayoutRun run = payoutRunRepository.findForUpdate(id)
+                .filter(r -> r.getTenantId().equals(TenantContext.getCurrentTenant()))
+                .orElseThrow(() -> new RuntimeException("Payout run not found"));
+        if (run.getStatus() != PayoutRunStatus.PENDING && run.getStatus() != PayoutRunStatus.RUNNING) {
+            throw new RuntimeException("Can only cancel PENDING or RUNNING payout runs");
+        }
+        run.setStatus(PayoutRunStatus.CANCELLED);
+        run.setFinishedAt(OffsetDateTime.now());
+        run.setUpdatedAt(OffsetDateTime.now());
+        return toResponse(run);
+    }
+
+    /**
+     * Restarts a FAILED run from its cursor.
+     */
+    @Transactional
+    @PreAuthorize("hasAnyRole('FINANCE', 'ADMIN')")
+    public PayoutRunResponse resumeRun(UUID id) {
+        PayoutRun run = findRun(id);
+        if (run.getStatus() != PayoutRunStatus.FAILED) {
+            throw new RuntimeException("Can only resume FAILED payout runs");
+        }
+        if (payoutRunRepository.existsByTenantIdAndStatusIn(run.getTenantId(), ACTIVE_STATUSES)) {
+            throw new RuntimeException("A payout run is already in progress");
+        }
+        run.setStatus(PayoutRunStatus.PENDING);
+        run.setLastError(null);
+        run.setFinishedAt(null);
+        run.setUpdatedAt(OffsetDateTime.now());
+
+        startAfterCommit(run.getId());
+        return toResponse(run);
+    }
+
+    /**
+     * Picks up runs left PENDING or RUNNING by a previous process.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedRuns() {
+        List<PayoutRun> runs = payoutRunRepository.findByStatusIn(ACTIVE_STATUSES);
+        for (PayoutRun run : runs) {
+            log.info("Resuming payout run {} after {} expense(s)", run.getId(), run.getProcessedCount());
+            start(run.getId());
+        }
+    }
+
+    /**
+     * Restarts PENDING or RUNNING runs that have not advanced for stale-after-ms, e.g. because their worker could
+     * not mark them FAILED while the database was unavailable. Every chunk moves updated_at, so a run that is still
+     * being worked on, here or on another instance, is never stale.
+     */
+    @Scheduled(fixedDelayString = "${expenseops.payouts.stale-sweep-interval-ms:60000}",
+            initialDelayString = "${expenseops.payouts.stale-sweep-interval-ms:60000}")
+    public void resumeStaleRuns() {
+        OffsetDateTime staleBefore = OffsetDateTime.now().minus(Duration.ofMillis(staleAfterMs));
+        for (PayoutRun run : payoutRunRepository.findByStatusInAndUpdatedAtBefore(ACTIVE_STATUSES, staleBefore)) {
+            if (processing.contains(run.getId())) {
+                continue;
+            }
+            log.warn("Resuming stale payout run {} (last update {})", run.getId(), run.getUpdatedAt());
+            start(run.getId());
+        }
+    }
+
+    private void startAfterCommit(UUID runId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                start(runId);
+            }
+        });
+    }
+
+    private void start(UUID runId) {
+        executor.execute(() -> process(runId));
+    }
+
+    private void process(UUID runId) {
+        if (!processing.add(runId)) {
+            return;
+        }
+        try {
+            while (Boolean.TRUE.equals(transactionTemplate.execute(tx -> processChunk(runId)))) {
+                // next chunk
+            }
+        } catch (RuntimeException e) {
+            log.error("Payout run {} failed", runId, e);
+            try {
+                transactionTemplate.executeWithoutResult(tx -> markFailed(runId, e));
+            } catch (RuntimeException markError) {
+                // Left PENDING or RUNNING; the stale-run sweep resumes it once the database is back
+                log.error("Cannot mark payout run {} as failed", runId, markError);
+            }
+        } finally {
+            processing.remove(runId);
+        }
+    }
+
+    /**
+     * Pays one chunk. Returns true while the run has more to do.
+     */
+    private boolean processChunk(UUID runId) {
+        PayoutRun run = payoutRunRepository.findForUpdate(runId).orElse(null);
+        if (run == null || (run.getStatus() != PayoutRunStatus.PENDING && run.getStatus() != PayoutRunStatus.RUNNING)) {
+            return false;
+        }
+        OffsetDateTime now = OffsetDateTime.now();
+        if (run.getStatus() == PayoutRunStatus.PENDING) {
+            run.setStatus(PayoutRunStatus.RUNNING);
+            if (run.getStartedAt() == null) {
+                run.setStartedAt(now);
+            }
+        }
+
+        PageCursor after = run.getCursorId() != null
+                ? new PageCursor(run.getCursorCreatedAt(), run.getCursorId())
+                : PageCursor.FIRST;
+        List<ExpenseRepository.PayoutCandidate> chunk = expenseRepository.findPayoutChunk(run.getTenantId(),
+                run.getCutoff(), after.getTimestamp(), after.getId(), Pageable.ofSize(run.getChunkSize()));
+
+        if (!chunk.isEmpty()) {
+            List<UUID> ids = chunk.stream()
+                    .map(ExpenseRepository.PayoutCandidate::getId)
+                    .collect(Collectors.toList());
+            // Rows paid individually since the chunk was read are skipped by the status check in the update
+            Set<UUID> moved = new HashSet<>(expenseRepository.bulkReimburse(run.getTenantId(), ids,
+                    ExpenseStatus.APPROVED.name(), run.getCreatedById(), run.getCreatedByName()));
+            BigDecimal amount = chunk.stream()
+                    .filter(candidate -> moved.contains(candidate.getId()))
+                    .map(ExpenseRepository.PayoutCandidate::getAmount)
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            statusCounters.recordTransitions(run.getTenantId(), ExpenseStatus.APPROVED, ExpenseStatus.REIMBURSED,
+                    moved.size());
+            changeVersions.expensesChanged(run.getTenantId(), moved);
+            Map<String, Object> oldValues = Map.of("status", ExpenseStatus.APPROVED);
+            Map<String, Object> newValues = Map.of("status", ExpenseStatus.REIMBURSED);
+            for (UUID id : moved) {
+                auditService.record(run.getTenantId(), run.getCreatedById(), AuditService.EXPENSE, id,
+                        ExpenseStatus.REIMBURSED.name(), oldValues, newValues);
+            }
+
+            ExpenseRepository.PayoutCandidate last = chunk.get(chunk.size() - 1);
+            run.setCursorCreatedAt(last.getCreatedAt());
+            run.setCursorId(last.getId());
+            run.setProcessedCount(run.getProcessedCount() + moved.size());
+            run.setTotalAmount(run.getTotalAmount().add(amount));
+            run.setChunksCompleted(run.getChunksCompleted() + 1);
+        }
+
+        boolean more = chunk.size() == run.getChunkSize();
+        if (!more) {
+            run.setStatus(PayoutRunStatus.COMPLETED);
+            run.setFinishedAt(now);
+            log.info("Payout run {} completed: {} expense(s), {} total", run.getId(), run.getProcessedCount(),
+                    run.getTotalAmount());
+        }
+        run.setUpdatedAt(now);
+        return more;
+    }
+
+    private void markFailed(UUID runId, RuntimeException e) {
+        payoutRunRepository.findForUpdate(runId).ifPresent(run -> {
+            String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            run.setStatus(PayoutRunStatus.FAILED);
+            run.setLastError(message.length() > 1000 ? message.substring(0, 1000) : message);
+            run.setFinishedAt(OffsetDateTime.now());
+            run.setUpdatedAt(OffsetDateTime.now());
+        });
+    }
+
+    private PayoutRun findRun(UUID id) {
+        return payoutRunRepository.findByIdAndTenantId(id, TenantContext.getCurrentTenant())
+                .orElseThrow(() -> new RuntimeException("Payout run not found"));
+    }
+
+    private PayoutRunResponse toResponse(PayoutRun run) {
+        Double throughput = null;
+        if (run.getStartedAt() != null) {
+            OffsetDateTime end = run.getFinishedAt() != null ? run.getFinishedAt() : OffsetDateTime.now();
+            long millis = Math.max(1, Duration.between(run.getStartedAt(), end).toMillis());
+            throughput = run.getProcessedCount() * 1000.0 / millis;
+        }
+
+        return PayoutRunResponse.builder()
+                .id(run.getId())
+                .status(run.getStatus())
+                .chunkSize(run.getChunkSize())
+                .expectedCount(run.getExpectedCount())
+                .processedCount(run.getProcessedCount())
+                .totalAmount(run.getTotalAmount())
+                .chunksCompleted(run.getChunksCompleted())
+                .expensesPerSecond(throughput)
+                .createdByName(run.getCreatedByName())
+                .cutoff(run.getCutoff())
+                .createdAt(run.getCreatedAt())
+                .startedAt(run.getStartedAt())
+                .finishedAt(run.getFinishedAt())
+                .lastError(run.getLastError())
+                .build();
+    }
+}
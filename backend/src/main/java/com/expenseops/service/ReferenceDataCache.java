@@ -0,0 +1,209 @@
+package com.expenseops.service;
+
+import com.expenseops.entity.Category;
+import com.expenseops.entity.Tenant;
+import com.expenseops.repository.CategoryRepository;
+import com.expenseops.repository.TenantRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Per-tenant snapshot of reference data (the tenant itself and all its categories), so expense writes and the
+ * category dropdown do not query them on every request.
+ * Snapshots are immutable and carry the tenant's version at load time. Writes to the data must call invalidate,
+ * which bumps the version; a snapshot loaded while a write was committing is then served once but never cached.
+ * Entries also expire after expenseops.reference-data.cache-ttl-ms, which bounds staleness across instances.
+ */
+@Component
+public class ReferenceDataCache {
+
+    private final TenantRepository tenantRepository;
+    private final CategoryRepository categoryRepository;
+    private final Cache<UUID, TenantReferenceData> snapshots;
+    private final Map<UUID, Long> versions = new ConcurrentHashMap<>();
+
+    public ReferenceDataCache(TenantRepository tenantRepository, CategoryRepository categoryRepository,
+            @Value("${expenseops.reference-data.cache-size:1000}") long maximumSize,
+            @Value("${expenseops.reference-data.cache-ttl-ms:300000}") long ttlMs,
+            MeterRegistry meterRegistry) {
+        this.tenantRepository = tenantRepository;
+        this.categoryRepository = categoryRepository;
+        this.snapshots = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, snapshots, "reference.data");
+    }
+
+    public TenantReferenceData get(UUID tenantId) {
+        TenantReferenceData cached = snapshots.getIfPresent(tenantId);
+        if (cached != null) {
+            return cached;
+        }
+
+        long version = currentVersion(tenantId);
+        Tenant tenant = tenantRepository.findById(tenantId)
+                .orElseThrow(() -> new RuntimeException("Tenant not found"));
+        TenantReferenceData loaded = new TenantReferenceData(tenant, categoryRepository.findByTenantId(tenantId),
+                version);
+        snapshots.asMap().compute(tenantId,
+                (id, existing) -> version == currentVersion(id) ? loaded : existing);
+        return loaded;
+    }
+
+    /**
+     * Drops the tenant's snapshot now and again once the current transaction commits, so a load that read the
+     * data before the commit cannot put the old state back.
+     */
+    public void invalidate(UUID tenantId) {
+        bump(tenantId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bump(tenantId);
+                }
+            });
+        }
+    }
+
+    private long currentVersion(UUID tenantId) {
+        return versions.getOrDefault(tenantId, 0L);
+    }
+
+    private void bump(UUID tenantId) {
+        versions.merge(tenantId, 1L, Long::sum);
+        snapshots.invalidate(tenantId);
+    }
+
+    public static final class TenantReferenceData {
+
+        private final UUID tenantId;
+        private final String tenantName;
+        private final String tenantSlug;
+        private final long version;
+        private final Map<UUID, CachedCategory> categories;
+        private final String activeCategoriesFingerprint;
+
+        private TenantReferenceData(Tenant tenant, List<Category> categories, long version) {
+            this.tenantId = tenant.getId();
+            this.tenantName = tenant.getName();
+            this.tenantSlug = tenant.getSlug();
+            this.version = version;
+            Map<UUID, CachedCategory> byId = new LinkedHashMap<>();
+            for (Category category : categories) {
+                byId.put(category.getId(), new CachedCategory(category));
+            }
+            this.categories = Collections.unmodifiableMap(byId);
+            this.activeCategoriesFingerprint = fingerprint(getActiveCategories());
+        }
+
+        public UUID getTenantId() {
+            return tenantId;
+        }
+
+        public String getTenantName() {
+            return tenantName;
+        }
+
+        public String getTenantSlug() {
+            return tenantSlug;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        /**
+         * Looks up any of the tenant's categories, active or not.
+         */
+        public Optional<CachedCategory> getCategory(UUID categoryId) {
+            return Optional.ofNullable(categories.get(categoryId));
+        }
+
+        public List<CachedCategory> getActiveCategories() {
+            return categories.values().stream()
+                    .filter(CachedCategory::isActive)
+                    .collect(Collectors.toList());
+        }
+
+        /**
+         * Changes whenever the active categories' content does, on every instance alike; used as their ETag.
+         */
+        public String getActiveCategoriesFingerprint() {
+            return activeCategoriesFingerprint;
+        }
+
+        private static String fingerprint(List<CachedCategory> categories) {
+            try {
+                MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                for (CachedCategory category : categories) {
+                    String fields = category.getId() + "\u0000" + category.getName() + "\u0000" + category.getIcon()
+                            + "\u0000" + category.getDescription() + "\u0001";
+                    digest.update(fields.getBytes(StandardCharsets.UTF_8));
+                }
+                return HexFormat.of().formatHex(digest.digest(), 0, 12);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    public static final class CachedCategory {
+
+        private final UUID id;
+        private final String name;
+        private final String icon;
+        private final String description;
+        private final boolean active;
+
+        private CachedCategory(Category category) {
+            this.id = category.getId();
+            this.name = category.getName();
+            this.icon = category.getIcon();
+            this.description = category.getDescription();
+            this.active = Boolean.TRUE.equals(category.getIsActive());
+        }
+
+        public UUID getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getIcon() {
+            return icon;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.expenseops.service;
+
+import com.expenseops.dto.SpendRollupResponse;
+import com.expenseops.entity.Category;
+import com.expenseops.entity.Expense;
+import com.expenseops.entity.ExpenseStatus;
+import com.expenseops.entity.SpendRollup;
+import com.expenseops.repository.CategoryRepository;
+import com.expenseops.repository.SpendRollupRepository;
+import com.expenseops.security.TenantContext;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains spend_rollups incrementally.
+ * Write methods join the caller's transaction, so a bucket changes exactly when the expense does.
+ * Callers remove an expense from its bucket before mutating it and add it back afterwards.
+ */
+@Service
+public class SpendRollupService {
+
+    private static final int DEFAULT_MONTHS = 12;
+
+    private final SpendRollupRepository spendRollupRepository;
+    private final CategoryRepository categoryRepository;
+
+    public SpendRollupService(SpendRollupRepository spendRollupRepository, CategoryRepository categoryRepository) {
+        this.spendRollupRepository = spendRollupRepository;
+        this.categoryRepository = categoryRepository;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void add(Expense expense) {
+        apply(expense, 1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void remove(Expense expense) {
+        apply(expense, -1);
+    }
+
+    /**
+     * Adds a pre-aggregated delta to one bucket, for callers that write expenses without loading entities.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addToBucket(UUID tenantId, UUID categoryId, String department, LocalDate month, ExpenseStatus status,
+            long count, BigDecimal amount) {
+        spendRollupRepository.applyDelta(tenantId, categoryId, bucketDepartment(department), month.withDayOfMonth(1),
+                status.name(), count, amount);
+    }
+
+    /**
+     * Re-keys all of a user's expenses when their department changes.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void moveDepartment(UUID tenantId, UUID userId, String oldDepartment, String newDepartment) {
+        if (bucketDepartment(oldDepartment).equals(bucketDepartment(newDepartment))) {
+            return;
+        }
+        spendRollupRepository.applyUserExpenses(tenantId, userId, bucketDepartment(oldDepartment), -1);
+        spendRollupRepository.applyUserExpenses(tenantId, userId, bucketDepartment(newDepartment), 1);
+    }
+
+    @Transactional(readOnly = true)
+    @PreAuthorize("hasAnyRole('MANAGER', 'FINANCE', 'ADMIN')")
+    public List<SpendRollupResponse> getSpendRollups(YearMonth from, YearMonth to) {
+        UUID tenantId = TenantContext.getCurrentTenant();
+        YearMonth end = to != null ? to : YearMonth.now();
+        YearMonth start = from != null ? from : end.minusMonths(DEFAULT_MONTHS - 1);
+        if (start.isAfter(end)) {
+            throw new RuntimeException("'from' must not be after 'to'");
+        }
+
+        Map<UUID, Category> categories = categoryRepository.findByTenantId(tenantId).stream()
+                .collect(Collectors.toMap(Category::getId, Function.identity()));
+
+        return spendRollupRepository.findBuckets(tenantId, start.atDay(1), end.atDay(1))
+                .stream()
+                .map(rollup -> toResponse(rollup, categories.get(rollup.getCategoryId())))
+                .collect(Collectors.toList());
+    }
+
+    private void apply(Expense expense, int sign) {
+        spendRollupRepository.applyDelta(
+                expense.getTenant().getId(),
+                expense.getCategory().getId(),
+                bucketDepartment(expense.getUser().getDepartment()),
+                bucketDate(expense).withDayOfMonth(1),
+                expense.getStatus().name(),
+                sign,
+                sign > 0 ? expense.getAmount() : expense.getAmount().negate());
+    }
+
+    /**
+     * The expense date, or for undated expenses the day they were created. Matches
+     * COALESCE(expense_date, CAST(created_at AS DATE)) in the SQL paths: the driver runs sessions in the JVM's
+     * time zone, so the cast yields the created_at date in that zone.
+     */
+    private LocalDate bucketDate(Expense expense) {
+        if (expense.getExpenseDate() != null) {
+            return expense.getExpenseDate();
+        }
+        return expense.getCreatedAt().atZoneSameInstant(ZoneId.systemDefault()).toLocalDate();
+    }
+
+    private String bucketDepartment(String department) {
+        return department != null ? department : "";
+    }
+
+    private SpendRollupResponse toResponse(SpendRollup rollup, Category category) {
+        return SpendRollupResponse.builder()
+                .month(YearMonth.from(rollup.getMonth()))
+                .categoryId(rollup.getCategoryId())
+                .categoryName(category != null ? category.getName() : null)
+                .categoryIcon(category != null ? category.getIcon() : null)
+                .department(rollup.getDepartment().isEmpty() ? null : rollup.getDepartment())
+                .status(rollup.getStatus())
+                .expenseCount(rollup.getExpenseCount())
+                .totalAmount(rollup.getTotalAmount())
+                .build();
+    }
+}
@@ -6,14 +6,21 @@ import com.expenseops.entity.User;
 import com.expenseops.entity.UserRole;
 import com.expenseops.repository.TenantRepository;
 import com.expenseops.repository.UserRepository;
+import com.expenseops.security.AuthenticatedUser;
+import com.expenseops.security.PrincipalCache;
 import com.expenseops.security.TenantContext;
+import com.expenseops.security.TokenRevocationService;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -23,16 +30,30 @@ public class UserService {
     private final UserRepository userRepository;
     private final TenantRepository tenantRepository;
     private final PasswordEncoder passwordEncoder;
+    private final SpendRollupService spendRollupService;
+    private final AuditService auditService;
+    private final PrincipalCache principalCache;
+    private final TokenRevocationService tokenRevocationService;
+    private final ChangeVersions changeVersions;
+    private final TransactionTemplate transactionTemplate;
 
     public UserService(UserRepository userRepository, TenantRepository tenantRepository,
-            PasswordEncoder passwordEncoder) {
+            PasswordEncoder passwordEncoder, SpendRollupService spendRollupService, AuditService auditService,
+            PrincipalCache principalCache, TokenRevocationService tokenRevocationService,
+            ChangeVersions changeVersions, PlatformTransactionManager transactionManager) {
         this.userRepository = userRepository;
         this.tenantRepository = tenantRepository;
         this.passwordEncoder = passwordEncoder;
+        this.spendRollupService = spendRollupService;
+        this.auditService = auditService;
+        this.principalCache = principalCache;
+        this.tokenRevocationService = tokenRevocationService;
+        this.changeVersions = changeVersions;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
-    private User getCurrentUser() {
-        return (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+    private AuthenticatedUser getCurrentUser() {
+        return (AuthenticatedUser) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
     }
 
     private UUID getTenantId() {
@@ -51,7 +72,7 @@ public class UserService {
     @Transactional
     @PreAuthorize("hasRole('ADMIN')")
     public UserResponse updateUserRole(UUID userId, UserRole newRole) {
-        User currentUser = getCurrentUser();
+        AuthenticatedUser currentUser = getCurrentUser();
         User targetUser = userRepository.findByIdAndTenantId(userId, getTenantId())
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
@@ -60,15 +81,19 @@ public class UserService {
             throw new RuntimeException("Cannot change your own role");
         }
 
+        UserRole oldRole = targetUser.getRole();
         targetUser.setRole(newRole);
         targetUser = userRepository.save(targetUser);
+        principalCache.invalidate(targetUser.getId());
+        auditService.record(AuditService.USER, targetUser.getId(), "ROLE_CHANGED",
+                Map.of("role", oldRole), Map.of("role", newRole));
         return toResponse(targetUser);
     }
 
     @Transactional
     @PreAuthorize("hasRole('ADMIN')")
     public UserResponse toggleUserActive(UUID userId) {
-        User currentUser = getCurrentUser();
+        AuthenticatedUser currentUser = getCurrentUser();
         User targetUser = userRepository.findByIdAndTenantId(userId, getTenantId())
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
@@ -77,8 +102,16 @@ public class UserService {
             throw new RuntimeException("Cannot deactivate your own account");
         }
 
-        targetUser.setIsActive(!targetUser.getIsActive());
+        boolean active = !targetUser.getIsActive();
+        targetUser.setIsActive(active);
         targetUser = userRepository.save(targetUser);
+        principalCache.invalidate(targetUser.getId());
+        if (!active) {
+            // Otherwise the user's existing tokens would work again if they were reactivated
+            tokenRevocationService.revokeAllForUser(targetUser.getId());
+        }
+        auditService.record(AuditService.USER, targetUser.getId(), active ? "ACTIVATED" : "DEACTIVATED",
+                Map.of("active", !active), Map.of("active", active));
         return toResponse(targetUser);
     }
 
@@ -96,20 +129,25 @@ public class UserService {
         User targetUser = userRepository.findByIdAndTenantId(userId, getTenantId())
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
+        // Spend rollups are keyed by department, so move this user's expenses to the new one
+        spendRollupService.moveDepartment(getTenantId(), targetUser.getId(), targetUser.getDepartment(), department);
+        Map<String, Object> before = new HashMap<>();
+        before.put("department", targetUser.getDepartment());
         targetUser.setDepartment(department);
         targetUser = userRepository.save(targetUser);
+        principalCache.invalidate(targetUser.getId());
+        // The department is shown on the user's expenses
+        changeVersions.userChanged(getTenantId(), targetUser.getId());
+        Map<String, Object> after = new HashMap<>();
+        after.put("department", department);
+        auditService.record(AuditService.USER, targetUser.getId(), "DEPARTMENT_CHANGED", before, after);
         return toResponse(targetUser);
     }
 
-    @Transactional
     @PreAuthorize("hasRole('ADMIN')")
     public void resetUserPassword(UUID userId, String newPassword) {
-        User currentUser = getCurrentUser();
-        User targetUser = userRepository.findByIdAndTenantId(userId, getTenantId())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
         // Cannot reset your own password via this method
-        if (targetUser.getId().equals(currentUser.getId())) {
+        if (userId.equals(getCurrentUser().getId())) {
             throw new RuntimeException("Cannot reset your own password via admin panel");
         }
 
@@ -117,8 +155,21 @@ public class UserService {
             throw new RuntimeException("Password must be at least 8 characters");
         }
 
-        targetUser.setPasswordHash(passwordEncoder.encode(newPassword));
+        // Hashed before the transaction, so no database connection is held while waiting for the BCrypt pool
+        String passwordHash = passwordEncoder.encode(newPassword);
+        transactionTemplate.executeWithoutResult(status -> storePasswordHash(userId, passwordHash));
+    }
+
+    private void storePasswordHash(UUID userId, String passwordHash) {
+        User targetUser = userRepository.findByIdAndTenantId(userId, getTenantId())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        targetUser.setPasswordHash(passwordHash);
         userRepository.save(targetUser);
+        principalCache.invalidate(targetUser.getId());
+        // Sessions opened with the old password end here
+        tokenRevocationService.revokeAllForUser(targetUser.getId());
+        // The hash itself is never written to the audit trail
+        auditService.record(AuditService.USER, targetUser.getId(), "PASSWORD_RESET", null, null);
     }
 
     private UserResponse toResponse(User user) {
@@ -0,0 +1,138 @@
+package com.expenseops.service;
+
+import com.expenseops.entity.ExpenseStatus;
+import com.expenseops.repository.ExpenseRepository;
+import com.expenseops.repository.UserRepository;
+import com.expenseops.security.TenantContext;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Business metrics for the expense workflow, exported with the rest at /actuator/prometheus:
+ * - expense.transition: time of each single-expense transition including its commit, tagged by action, tenant
+ *   tier and outcome (committed or rolled_back)
+ * - expense.decisions: approvals and rejections, single and bulk, tagged by decision and tenant tier
+ * - expense.backlog.oldest.age: age of the oldest SUBMITTED and APPROVED expense per tenant, refreshed every
+ *   expenseops.metrics.backlog-refresh-ms
+ * Tenants have no plan or tier of their own, so the tier is a bucket of their active user count, which keeps
+ * the number of series small.
+ */
+@Component
+public class WorkflowMetrics {
+
+    private static final long SMALL_TENANT_MAX_USERS = 10;
+    private static final long MEDIUM_TENANT_MAX_USERS = 100;
+
+    private final MeterRegistry meterRegistry;
+    private final ExpenseRepository expenseRepository;
+    private final UserRepository userRepository;
+    private final Cache<UUID, String> tiers;
+    private final MultiGauge backlogAge;
+
+    public WorkflowMetrics(MeterRegistry meterRegistry, ExpenseRepository expenseRepository,
+            UserRepository userRepository) {
+        this.meterRegistry = meterRegistry;
+        this.expenseRepository = expenseRepository;
+        this.userRepository = userRepository;
+        this.tiers = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofMinutes(10))
+                .build();
+        this.backlogAge = MultiGauge.builder("expense.backlog.oldest.age")
+                .description("Age of the oldest expense waiting in a status")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Times the calling transition from now until its transaction completes. Call at the start of the
+     * @Transactional method, so the commit is included and a failed transition is recorded as rolled_back.
+     */
+    public void timeTransition(String action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        // Resolved now: the tier lookup may query, which must not happen once the transaction is done
+        String tier = tier(TenantContext.getCurrentTenant());
+        Timer.Sample sample = Timer.start(meterRegistry);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                sample.stop(Timer.builder("expense.transition")
+                        .description("Expense workflow transitions, including the commit")
+                        .tags("action", action, "tier", tier,
+                                "outcome", status == STATUS_COMMITTED ? "committed" : "rolled_back")
+                        .publishPercentileHistogram()
+                        .minimumExpectedValue(Duration.ofMillis(1))
+                        .maximumExpectedValue(Duration.ofSeconds(10))
+                        .register(meterRegistry));
+            }
+        });
+    }
+
+    /**
+     * Counts expenses approved or rejected once the current transaction commits; other statuses are ignored.
+     */
+    public void recordDecisions(UUID tenantId, ExpenseStatus decision, long count) {
+        if (count == 0 || (decision != ExpenseStatus.APPROVED && decision != ExpenseStatus.REJECTED)) {
+            return;
+        }
+        Counter counter = Counter.builder("expense.decisions")
+                .description("Expenses approved or rejected")
+                .tags("decision", decision.name().toLowerCase(), "tier", tier(tenantId))
+                .register(meterRegistry);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    counter.increment(count);
+                }
+            });
+        } else {
+            counter.increment(count);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${expenseops.metrics.backlog-refresh-ms:30000}")
+    public void refreshBacklogAge() {
+        List<MultiGauge.Row<?>> rows = expenseRepository.findBacklogHeads().stream()
+                .filter(head -> head.getOldest() != null)
+                .map(head -> {
+                    OffsetDateTime oldest = head.getOldest();
+                    return MultiGauge.Row.of(
+                            Tags.of("tenant", head.getTenantId().toString(), "status", head.getStatus()),
+                            () -> Math.max(0, Duration.between(oldest, OffsetDateTime.now()).toMillis()) / 1000.0);
+                })
+                .collect(Collectors.toList());
+        // Tenants whose backlog emptied are dropped
+        backlogAge.register(rows, true);
+    }
+
+    private String tier(UUID tenantId) {
+        if (tenantId == null) {
+            return "unknown";
+        }
+        return tiers.get(tenantId, id -> {
+            long users = userRepository.countByTenantIdAndIsActiveTrue(id);
+            if (users <= SMALL_TENANT_MAX_USERS) {
+                return "small";
+            }
+            return users <= MEDIUM_TENANT_MAX_USERS ? "medium" : "large";
+        });
+    }
+}
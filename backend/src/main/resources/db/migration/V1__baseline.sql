@@ -0,0 +1,82 @@
+-- Baseline schema, matching what hibernate ddl-auto=update created for existing deployments.
+-- IF NOT EXISTS lets this version be recorded against those databases without changes.
+
+CREATE TABLE IF NOT EXISTS tenants (
+    id UUID PRIMARY KEY,
+    name VARCHAR(100) NOT NULL,
+    slug VARCHAR(50) NOT NULL UNIQUE,
+    is_active BOOLEAN,
+    invite_code VARCHAR(6) UNIQUE,
+    created_at TIMESTAMP(6) WITH TIME ZONE,
+    updated_at TIMESTAMP(6) WITH TIME ZONE
+);
+
+CREATE TABLE IF NOT EXISTS users (
+    id UUID PRIMARY KEY,
+    tenant_id UUID NOT NULL REFERENCES tenants (id),
+    email VARCHAR(255) NOT NULL,
+    password_hash VARCHAR(255) NOT NULL,
+    name VARCHAR(100) NOT NULL,
+    role VARCHAR(20) NOT NULL,
+    department VARCHAR(100),
+    is_active BOOLEAN,
+    created_at TIMESTAMP(6) WITH TIME ZONE,
+    updated_at TIMESTAMP(6) WITH TIME ZONE
+);
+
+CREATE TABLE IF NOT EXISTS categories (
+    id UUID PRIMARY KEY,
+    tenant_id UUID NOT NULL REFERENCES tenants (id),
+    name VARCHAR(50) NOT NULL,
+    icon VARCHAR(10),
+    description VARCHAR(255),
+    is_active BOOLEAN,
+    created_at TIMESTAMP(6) WITH TIME ZONE,
+    updated_at TIMESTAMP(6) WITH TIME ZONE
+);
+
+CREATE TABLE IF NOT EXISTS expenses (
+    id UUID PRIMARY KEY,
+    tenant_id UUID NOT NULL REFERENCES tenants (id),
+    user_id UUID NOT NULL REFERENCES users (id),
+    category_id UUID NOT NULL REFERENCES categories (id),
+    title VARCHAR(200) NOT NULL,
+    description TEXT,
+    amount NUMERIC(12, 2) NOT NULL,
+    expense_date DATE,
+    status VARCHAR(20) NOT NULL,
+    rejection_reason TEXT,
+    submitted_at TIMESTAMP(6) WITH TIME ZONE,
+    approved_at TIMESTAMP(6) WITH TIME ZONE,
+    approved_by_id UUID,
+    approved_by_name VARCHAR(100),
+    reimbursed_at TIMESTAMP(6) WITH TIME ZONE,
+    reimbursed_by_id UUID,
+    reimbursed_by_name VARCHAR(100),
+    receipt_url TEXT,
+    version INTEGER NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE,
+    updated_at TIMESTAMP(6) WITH TIME ZONE
+);
+
+CREATE TABLE IF NOT EXISTS approvals (
+    id UUID PRIMARY KEY,
+    tenant_id UUID NOT NULL REFERENCES tenants (id),
+    expense_id UUID NOT NULL REFERENCES expenses (id),
+    actor_id UUID NOT NULL REFERENCES users (id),
+    action VARCHAR(20) NOT NULL,
+    comment TEXT,
+    created_at TIMESTAMP(6) WITH TIME ZONE
+);
+
+CREATE TABLE IF NOT EXISTS audit_logs (
+    id UUID PRIMARY KEY,
+    tenant_id UUID NOT NULL REFERENCES tenants (id),
+    entity_type VARCHAR(50) NOT NULL,
+    entity_id UUID NOT NULL,
+    action VARCHAR(50) NOT NULL,
+    actor_id UUID REFERENCES users (id),
+    old_values JSONB,
+    new_values JSONB,
+    created_at TIMESTAMP(6) WITH TIME ZONE
+);
@@ -0,0 +1,31 @@
+-- migrate:no-transaction
+-- Composite indexes for the keyset list queries in ExpenseRepository and the approval timeline.
+-- Built CONCURRENTLY so large tables stay writable; each statement runs in its own implicit transaction.
+
+-- findUserPage: user_id + tenant_id, seek on (created_at, id)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_expenses_user_created
+    ON expenses (user_id, tenant_id, created_at DESC, id DESC);
+
+-- findStatusPage / findStatusPageExcludingUser / findExportPage / countByTenantIdAndStatus
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_expenses_tenant_status_created
+    ON expenses (tenant_id, status, created_at DESC, id DESC);
+
+-- findHistoryKeysByUpdatedAt (approval history): partial, so the finalized statuses come out in one updated_at
+-- order and a page stops at its LIMIT instead of sorting the tenant's whole history
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_expenses_tenant_history_updated
+    ON expenses (tenant_id, updated_at DESC, id DESC)
+    WHERE status IN ('APPROVED', 'REJECTED', 'REIMBURSED');
+
+-- findByExpenseIdOrderByCreatedAtAsc
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_approvals_expense_created
+    ON approvals (expense_id, created_at);
+
+-- Login looks users up by email across tenants
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_email
+    ON users (email);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_tenant_created
+    ON users (tenant_id, created_at DESC);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_categories_tenant_name
+    ON categories (tenant_id, name);
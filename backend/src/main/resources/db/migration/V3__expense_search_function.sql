@@ -0,0 +1,11 @@
+-- Full-text search over expense title (weight A) and description (weight B).
+-- The vector is not stored: adding a generated column would rewrite expenses under an ACCESS EXCLUSIVE lock.
+-- Instead V4 indexes this expression and ExpenseRepository.searchPage queries through the same function, so the
+-- GIN index matches. With an explicit text search configuration to_tsvector is immutable, as index expressions
+-- must be.
+CREATE OR REPLACE FUNCTION expense_search_vector(title TEXT, description TEXT) RETURNS TSVECTOR
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE
+    AS $$
+        SELECT setweight(to_tsvector('english', coalesce(title, '')), 'A')
+            || setweight(to_tsvector('english', coalesce(description, '')), 'B')
+    $$;
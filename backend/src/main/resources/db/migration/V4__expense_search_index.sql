@@ -0,0 +1,3 @@
+-- migrate:no-transaction
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_expenses_search
+    ON expenses USING GIN (expense_search_vector(title, description));
@@ -0,0 +1,24 @@
+-- Pre-aggregated spend per tenant, category, department, month and status for dashboards.
+-- Kept current by SpendRollupService in the same transaction as each expense transition.
+CREATE TABLE spend_rollups (
+    id UUID PRIMARY KEY,
+    tenant_id UUID NOT NULL REFERENCES tenants (id),
+    category_id UUID NOT NULL REFERENCES categories (id),
+    department VARCHAR(100) NOT NULL DEFAULT '',
+    month DATE NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    expense_count BIGINT NOT NULL,
+    total_amount NUMERIC(14, 2) NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE,
+    CONSTRAINT uk_spend_rollups_bucket UNIQUE (tenant_id, month, category_id, department, status)
+);
+
+-- Backfill from existing expenses
+INSERT INTO spend_rollups (id, tenant_id, category_id, department, month, status, expense_count, total_amount, updated_at)
+SELECT gen_random_uuid(), e.tenant_id, e.category_id, COALESCE(u.department, ''),
+       CAST(date_trunc('month', COALESCE(e.expense_date, CAST(e.created_at AS DATE))) AS DATE),
+       e.status, count(*), sum(e.amount), now()
+FROM expenses e
+JOIN users u ON u.id = e.user_id
+GROUP BY e.tenant_id, e.category_id, COALESCE(u.department, ''),
+         CAST(date_trunc('month', COALESCE(e.expense_date, CAST(e.created_at AS DATE))) AS DATE), e.status;
@@ -0,0 +1,27 @@
+-- Batched reimbursement runs processed in keyset chunks by PayoutRunService.
+-- cursor_created_at / cursor_id record the last expense paid, so an interrupted run resumes where it stopped.
+CREATE TABLE payout_runs (
+    id UUID PRIMARY KEY,
+    tenant_id UUID NOT NULL REFERENCES tenants (id),
+    created_by_id UUID NOT NULL REFERENCES users (id),
+    created_by_name VARCHAR(100) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    chunk_size INTEGER NOT NULL,
+    cutoff TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    expected_count BIGINT NOT NULL,
+    processed_count BIGINT NOT NULL DEFAULT 0,
+    total_amount NUMERIC(14, 2) NOT NULL DEFAULT 0,
+    chunks_completed INTEGER NOT NULL DEFAULT 0,
+    cursor_created_at TIMESTAMP(6) WITH TIME ZONE,
+    cursor_id UUID,
+    last_error TEXT,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    started_at TIMESTAMP(6) WITH TIME ZONE,
+    finished_at TIMESTAMP(6) WITH TIME ZONE,
+    updated_at TIMESTAMP(6) WITH TIME ZONE
+);
+
+CREATE INDEX idx_payout_runs_tenant_created ON payout_runs (tenant_id, created_at DESC);
+
+-- At most one active run per tenant
+CREATE UNIQUE INDEX uk_payout_runs_tenant_active ON payout_runs (tenant_id) WHERE status IN ('PENDING', 'RUNNING');
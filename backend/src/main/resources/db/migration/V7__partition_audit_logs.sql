@@ -0,0 +1,32 @@
+-- audit_logs becomes range-partitioned by month on created_at so old months can be dropped instead of deleted.
+-- Monthly partitions (audit_logs_pYYYYMM) are created by AuditPartitionManager, which also moves rows out of the
+-- default partition; until it first runs, existing and new rows land in audit_logs_default.
+-- The primary key has to include the partition key.
+ALTER TABLE audit_logs RENAME TO audit_logs_legacy;
+ALTER INDEX audit_logs_pkey RENAME TO audit_logs_legacy_pkey;
+
+CREATE TABLE audit_logs (
+    id UUID NOT NULL,
+    tenant_id UUID NOT NULL REFERENCES tenants (id),
+    entity_type VARCHAR(50) NOT NULL,
+    entity_id UUID NOT NULL,
+    action VARCHAR(50) NOT NULL,
+    actor_id UUID REFERENCES users (id),
+    old_values JSONB,
+    new_values JSONB,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE audit_logs_default PARTITION OF audit_logs DEFAULT;
+
+INSERT INTO audit_logs (id, tenant_id, entity_type, entity_id, action, actor_id, old_values, new_values, created_at)
+SELECT id, tenant_id, entity_type, entity_id, action, actor_id, old_values, new_values, COALESCE(created_at, now())
+FROM audit_logs_legacy;
+
+DROP TABLE audit_logs_legacy;
+
+-- Keyset pages for the admin query API, newest first: whole tenant, one entity, one actor
+CREATE INDEX idx_audit_logs_tenant_created ON audit_logs (tenant_id, created_at DESC, id DESC);
+CREATE INDEX idx_audit_logs_entity_created ON audit_logs (tenant_id, entity_type, entity_id, created_at DESC, id DESC);
+CREATE INDEX idx_audit_logs_actor_created ON audit_logs (tenant_id, actor_id, created_at DESC, id DESC);
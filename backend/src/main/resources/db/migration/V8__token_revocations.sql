@@ -0,0 +1,21 @@
+-- Deny-list for JWTs, read into memory by TokenRevocationService.
+-- revoked_tokens holds single tokens revoked on logout, by their jti; user_token_cutoffs revokes every token a user
+-- was issued up to issued_before (deactivation, password reset). Rows are purged once expires_at has passed,
+-- since by then every token they cover has expired on its own.
+CREATE TABLE revoked_tokens (
+    token_id UUID PRIMARY KEY,
+    user_id UUID NOT NULL REFERENCES users (id),
+    expires_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    revoked_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX idx_revoked_tokens_revoked_at ON revoked_tokens (revoked_at);
+
+CREATE TABLE user_token_cutoffs (
+    user_id UUID PRIMARY KEY REFERENCES users (id),
+    issued_before TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    expires_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    revoked_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX idx_user_token_cutoffs_revoked_at ON user_token_cutoffs (revoked_at);
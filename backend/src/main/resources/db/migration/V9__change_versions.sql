@@ -0,0 +1,14 @@
+-- Change counters behind the ETags of polled list endpoints, maintained by ChangeVersions.
+-- A TENANT version moves on every write to the tenant's expenses or categories; a USER version moves on every write
+-- to that user's own expenses, and a USERS version (keyed by tenant) on writes that touch every user's list at once,
+-- such as imports and category edits. A version is the sum of its rows; no rows means version 0.
+-- Every write to a tenant bumps its TENANT version before committing, so TENANT versions are spread over shards (a
+-- write bumps one at random) rather than serializing the tenant's write transactions on one row lock. USER and USERS
+-- versions stay on shard 0.
+CREATE TABLE change_versions (
+    scope VARCHAR(10) NOT NULL,
+    scope_id UUID NOT NULL,
+    shard SMALLINT NOT NULL DEFAULT 0,
+    version BIGINT NOT NULL,
+    PRIMARY KEY (scope, scope_id, shard)
+);
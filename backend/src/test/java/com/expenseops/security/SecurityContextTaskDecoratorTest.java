@@ -0,0 +1,35 @@
+package com.expenseops.security;
+
+import com.expenseops.support.ServiceTestSupport;
+import com.expenseops.support.TestTenant;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tasks on the application task executor run as the user and tenant that submitted them, and nothing of that
+ * context is left on the worker thread afterwards.
+ */
+class SecurityContextTaskDecoratorTest extends ServiceTestSupport {
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor executor;
+
+    @Test
+    void tasksRunAsTheSubmittingUser() throws Exception {
+        TestTenant tenant = createTenant();
+        signIn(tenant.getEmployee());
+
+        assertThat(executor.submit(TenantContext::getCurrentTenant).get()).isEqualTo(tenant.getId());
+        assertThat(executor.submit(() -> ((AuthenticatedUser) SecurityContextHolder.getContext()
+                .getAuthentication().getPrincipal()).getId()).get()).isEqualTo(tenant.getEmployee().getId());
+
+        SecurityContextHolder.clearContext();
+        assertThat(executor.submit(TenantContext::getCurrentTenant).get()).isNull();
+    }
+}
@@ -0,0 +1,70 @@
+package com.expenseops.service;
+
+import com.expenseops.support.ServiceTestSupport;
+import com.expenseops.support.TestTenant;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Spilled audit events that can never be written are set aside, and the rest of the spill file still reaches the
+ * database.
+ */
+class AuditLogWriterReplayTest extends ServiceTestSupport {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void rejectsPoisonLinesAndReplaysTheRest() throws Exception {
+        TestTenant tenant = createTenant();
+        AuditEvent before = event(tenant.getId());
+        AuditEvent unknownTenant = event(UUID.randomUUID());
+        AuditEvent after = event(tenant.getId());
+        Path spillFile = dir.resolve("audit-spill.jsonl");
+        Files.write(spillFile, List.of(
+                objectMapper.writeValueAsString(before),
+                "{not json",
+                objectMapper.writeValueAsString(unknownTenant),
+                objectMapper.writeValueAsString(after)));
+
+        // Not started: the test drives the replay itself
+        AuditLogWriter writer = new AuditLogWriter(jdbcTemplate, objectMapper, 10, 500, 50, spillFile.toString());
+        writer.replaySpilled();
+
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM audit_logs WHERE id IN (?, ?, ?)", UUID.class,
+                before.getId(), unknownTenant.getId(), after.getId()))
+                .containsExactlyInAnyOrder(before.getId(), after.getId());
+        assertThat(Files.readAllLines(dir.resolve("audit-spill.jsonl.rejected")))
+                .containsExactly("{not json", objectMapper.writeValueAsString(unknownTenant));
+        assertThat(dir.resolve("audit-spill.jsonl")).doesNotExist();
+        assertThat(dir.resolve("audit-spill.jsonl.replay")).doesNotExist();
+    }
+
+    private AuditEvent event(UUID tenantId) {
+        AuditEvent event = new AuditEvent();
+        event.setId(UUID.randomUUID());
+        event.setTenantId(tenantId);
+        event.setEntityType(AuditService.USER);
+        event.setEntityId(UUID.randomUUID());
+        event.setAction("PASSWORD_RESET");
+        event.setCreatedAt(OffsetDateTime.now());
+        return event;
+    }
+}
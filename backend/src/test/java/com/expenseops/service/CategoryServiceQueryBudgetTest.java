@@ -0,0 +1,71 @@
+package com.expenseops.service;
+
+import com.expenseops.entity.Tenant;
+import com.expenseops.repository.TenantRepository;
+import com.expenseops.support.ServiceTestSupport;
+import com.expenseops.support.TestTenant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * SQL statements per CategoryService call, with warm caches; see ExpenseServiceQueryBudgetTest.
+ */
+class CategoryServiceQueryBudgetTest extends ServiceTestSupport {
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    private TestTenant tenant;
+
+    @BeforeEach
+    void setUp() {
+        tenant = createTenant();
+    }
+
+    @Test
+    void getCategories() {
+        signIn(tenant.getEmployee());
+        assertStatements(0, () -> categoryService.getCategories());
+    }
+
+    @Test
+    void getCategoriesETag() {
+        signIn(tenant.getEmployee());
+        assertStatements(0, () -> categoryService.getCategoriesETag());
+    }
+
+    @Test
+    void getCategoryById() {
+        signIn(tenant.getEmployee());
+        assertStatements(0, () -> categoryService.getCategoryById(tenant.getCategoryId()));
+    }
+
+    @Test
+    void createCategory() {
+        assertStatements(4, () -> categoryService.createCategory("Conferences", "🎤", "Tickets and fees"));
+    }
+
+    // One existence check per default category; the tenant already has them all
+    @Test
+    void seedDefaultCategories() {
+        Tenant entity = tenantRepository.findById(tenant.getId()).orElseThrow();
+        assertStatements(9, () -> categoryService.seedDefaultCategories(entity));
+    }
+
+    @Test
+    void getAllCategoriesForAdmin() {
+        assertStatements(1, () -> categoryService.getAllCategoriesForAdmin());
+    }
+
+    @Test
+    void updateCategory() {
+        assertStatements(4, () -> categoryService.updateCategory(tenant.getCategoryId(), "Travel abroad", null,
+                "Flights and hotels"));
+    }
+
+    @Test
+    void toggleCategoryActive() {
+        assertStatements(3, () -> categoryService.toggleCategoryActive(tenant.getCategoryId()));
+    }
+}
@@ -0,0 +1,121 @@
+package com.expenseops.service;
+
+import com.expenseops.dto.CategoryResponse;
+import com.expenseops.entity.ExpenseStatus;
+import com.expenseops.support.ServiceTestSupport;
+import com.expenseops.support.StatementRecorder;
+import com.expenseops.support.TestTenant;
+import com.expenseops.support.TestUser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Lists load each expense's user and category (and each approval's actor) with the page itself, so the number of
+ * statements stays the same however many rows, owners and categories the page holds; a lazy association read per
+ * row would add one statement per distinct user or category.
+ */
+class ExpenseServiceNPlusOneTest extends ServiceTestSupport {
+
+    private TestTenant tenant;
+    private List<TestUser> owners;
+    private List<UUID> categoryIds;
+
+    @BeforeEach
+    void setUp() {
+        tenant = createTenant();
+        owners = List.of(tenant.getEmployee(), tenant.getOtherEmployee(), tenant.getAdmin());
+        categoryIds = categoryService.getCategories().stream()
+                .map(CategoryResponse::getId)
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    void getMyExpenses() {
+        addExpenses(3, ExpenseStatus.DRAFT);
+        int few = statements(tenant.getEmployee(), () -> expenseService.getMyExpenses(null, 50));
+        addExpenses(24, ExpenseStatus.DRAFT);
+        int many = statements(tenant.getEmployee(), () -> expenseService.getMyExpenses(null, 50));
+        assertThat(many).isEqualTo(few);
+    }
+
+    @Test
+    void getPendingApprovals() {
+        addExpenses(1, ExpenseStatus.SUBMITTED);
+        int few = statements(tenant.getManager(), () -> expenseService.getPendingApprovals(null, 50));
+        addExpenses(24, ExpenseStatus.SUBMITTED);
+        int many = statements(tenant.getManager(), () -> expenseService.getPendingApprovals(null, 50));
+        assertThat(many).isEqualTo(few);
+    }
+
+    @Test
+    void getApprovedForReimbursement() {
+        addExpenses(1, ExpenseStatus.APPROVED);
+        int few = statements(tenant.getAdmin(), () -> expenseService.getApprovedForReimbursement(null, 50));
+        addExpenses(24, ExpenseStatus.APPROVED);
+        int many = statements(tenant.getAdmin(), () -> expenseService.getApprovedForReimbursement(null, 50));
+        assertThat(many).isEqualTo(few);
+    }
+
+    @Test
+    void getApprovalHistory() {
+        // Not reimbursed, so every item is loaded rather than served from the finalized JSON cache
+        addExpenses(1, ExpenseStatus.REJECTED);
+        int few = statements(tenant.getManager(), () -> expenseService.getApprovalHistory(null, 50));
+        addExpenses(12, ExpenseStatus.REJECTED);
+        addExpenses(12, ExpenseStatus.APPROVED);
+        int many = statements(tenant.getManager(), () -> expenseService.getApprovalHistory(null, 50));
+        assertThat(many).isEqualTo(few);
+    }
+
+    @Test
+    void searchExpenses() {
+        addExpenses(1, ExpenseStatus.SUBMITTED);
+        int few = statements(tenant.getManager(), () -> expenseService.searchExpenses("taxi", null, 50));
+        addExpenses(24, ExpenseStatus.SUBMITTED);
+        int many = statements(tenant.getManager(), () -> expenseService.searchExpenses("taxi", null, 50));
+        assertThat(many).isEqualTo(few);
+    }
+
+    @Test
+    void getExpenseHistory() {
+        UUID submitted = createSubmitted(tenant, tenant.getEmployee());
+        UUID reimbursed = createReimbursed(tenant, tenant.getEmployee());
+        // One approval by the owner, against three by the owner, the manager and the admin
+        int few = statements(tenant.getEmployee(), () -> expenseService.getExpenseHistory(submitted));
+        int many = statements(tenant.getEmployee(), () -> expenseService.getExpenseHistory(reimbursed));
+        assertThat(many).isEqualTo(few);
+    }
+
+    // Spread over the owners and categories in turn, so a page holds several distinct users and categories
+    private void addExpenses(int count, ExpenseStatus status) {
+        for (int i = 0; i < count; i++) {
+            signIn(owners.get(i % owners.size()));
+            UUID id = expenseService.createExpense(
+                    expenseRequest(categoryIds.get(i % categoryIds.size()), "Airport taxi " + i)).getId();
+            if (status == ExpenseStatus.DRAFT) {
+                continue;
+            }
+            expenseService.submitExpense(id);
+            if (status == ExpenseStatus.SUBMITTED) {
+                continue;
+            }
+            signIn(tenant.getManager());
+            if (status == ExpenseStatus.REJECTED) {
+                expenseService.rejectExpense(id, "Missing receipt");
+            } else {
+                expenseService.approveExpense(id);
+            }
+        }
+    }
+
+    private int statements(TestUser user, Runnable call) {
+        signIn(user);
+        return StatementRecorder.record(call).size();
+    }
+}
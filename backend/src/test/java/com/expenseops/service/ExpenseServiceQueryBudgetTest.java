@@ -0,0 +1,151 @@
+package com.expenseops.service;
+
+import com.expenseops.support.ServiceTestSupport;
+import com.expenseops.support.TestTenant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+/**
+ * SQL statements per ExpenseService call, with warm caches. A budget going up is a regression to look at (a lazy
+ * association loaded per row, a lookup the caches should have answered), not a number to bump.
+ */
+class ExpenseServiceQueryBudgetTest extends ServiceTestSupport {
+
+    private TestTenant tenant;
+
+    @BeforeEach
+    void setUp() {
+        tenant = createTenant();
+    }
+
+    @Test
+    void getMyExpenses() {
+        createDraft(tenant, tenant.getEmployee());
+        createSubmitted(tenant, tenant.getEmployee());
+        createApproved(tenant, tenant.getEmployee());
+        signIn(tenant.getEmployee());
+        assertStatements(1, () -> expenseService.getMyExpenses(null, 50));
+    }
+
+    @Test
+    void getMyExpensesETag() {
+        signIn(tenant.getEmployee());
+        assertStatements(1, () -> expenseService.getMyExpensesETag());
+    }
+
+    @Test
+    void getPendingApprovalsETag() {
+        signIn(tenant.getManager());
+        assertStatements(1, () -> expenseService.getPendingApprovalsETag());
+    }
+
+    @Test
+    void getPendingApprovals() {
+        createSubmitted(tenant, tenant.getEmployee());
+        createSubmitted(tenant, tenant.getOtherEmployee());
+        signIn(tenant.getManager());
+        assertStatements(1, () -> expenseService.getPendingApprovals(null, 50));
+    }
+
+    @Test
+    void getApprovalHistory() {
+        createApproved(tenant, tenant.getEmployee());
+        createRejected(tenant, tenant.getOtherEmployee());
+        createReimbursed(tenant, tenant.getEmployee());
+        signIn(tenant.getManager());
+        assertStatements(2, () -> expenseService.getApprovalHistory(null, 50));
+    }
+
+    @Test
+    void getApprovedForReimbursement() {
+        createApproved(tenant, tenant.getEmployee());
+        createApproved(tenant, tenant.getOtherEmployee());
+        signIn(tenant.getAdmin());
+        assertStatements(1, () -> expenseService.getApprovedForReimbursement(null, 50));
+    }
+
+    @Test
+    void searchExpenses() {
+        createDraft(tenant, tenant.getEmployee());
+        createSubmitted(tenant, tenant.getOtherEmployee());
+        signIn(tenant.getManager());
+        assertStatements(2, () -> expenseService.searchExpenses("taxi", null, 50));
+    }
+
+    @Test
+    void getSummary() {
+        createSubmitted(tenant, tenant.getEmployee());
+        createApproved(tenant, tenant.getAdmin());
+        signIn(tenant.getAdmin());
+        assertStatements(1, () -> expenseService.getSummary());
+    }
+
+    @Test
+    void getStatusCounts() {
+        createSubmitted(tenant, tenant.getEmployee());
+        signIn(tenant.getManager());
+        assertStatements(0, () -> expenseService.getStatusCounts());
+    }
+
+    @Test
+    void getExpenseById() {
+        UUID id = createSubmitted(tenant, tenant.getEmployee());
+        assertStatements(1, () -> expenseService.getExpenseById(id));
+    }
+
+    @Test
+    void getExpenseHistory() {
+        UUID id = createApproved(tenant, tenant.getEmployee());
+        signIn(tenant.getEmployee());
+        assertStatements(2, () -> expenseService.getExpenseHistory(id));
+    }
+
+    @Test
+    void createExpense() {
+        createDraft(tenant, tenant.getEmployee());
+        assertStatements(4, () -> expenseService.createExpense(
+                expenseRequest(tenant.getCategoryId(), "Hotel night")));
+    }
+
+    @Test
+    void updateExpense() {
+        UUID id = createDraft(tenant, tenant.getEmployee());
+        assertStatements(5, () -> expenseService.updateExpense(id,
+                expenseRequest(tenant.getCategoryId(), "Airport taxi, return")));
+    }
+
+    @Test
+    void submitExpense() {
+        UUID id = createDraft(tenant, tenant.getEmployee());
+        assertStatements(6, () -> expenseService.submitExpense(id));
+    }
+
+    @Test
+    void approveExpense() {
+        UUID id = createSubmitted(tenant, tenant.getEmployee());
+        signIn(tenant.getManager());
+        assertStatements(6, () -> expenseService.approveExpense(id));
+    }
+
+    @Test
+    void rejectExpense() {
+        UUID id = createSubmitted(tenant, tenant.getEmployee());
+        signIn(tenant.getManager());
+        assertStatements(6, () -> expenseService.rejectExpense(id, "Missing receipt"));
+    }
+
+    @Test
+    void reimburseExpense() {
+        UUID id = createApproved(tenant, tenant.getEmployee());
+        signIn(tenant.getAdmin());
+        assertStatements(6, () -> expenseService.reimburseExpense(id));
+    }
+
+    @Test
+    void deleteExpense() {
+        UUID id = createDraft(tenant, tenant.getEmployee());
+        assertStatements(4, () -> expenseService.deleteExpense(id));
+    }
+}
@@ -0,0 +1,52 @@
+package com.expenseops.service;
+
+import com.expenseops.entity.UserRole;
+import com.expenseops.support.ServiceTestSupport;
+import com.expenseops.support.TestTenant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * SQL statements per UserService call, with warm caches; see ExpenseServiceQueryBudgetTest.
+ */
+class UserServiceQueryBudgetTest extends ServiceTestSupport {
+
+    private TestTenant tenant;
+
+    @BeforeEach
+    void setUp() {
+        tenant = createTenant();
+    }
+
+    @Test
+    void getAllUsersInTenant() {
+        assertStatements(1, () -> userService.getAllUsersInTenant());
+    }
+
+    @Test
+    void updateUserRole() {
+        assertStatements(2, () -> userService.updateUserRole(tenant.getEmployee().getId(), UserRole.FINANCE));
+    }
+
+    @Test
+    void toggleUserActive() {
+        assertStatements(3, () -> userService.toggleUserActive(tenant.getEmployee().getId()));
+    }
+
+    @Test
+    void getTenantInviteCode() {
+        assertStatements(1, () -> userService.getTenantInviteCode());
+    }
+
+    @Test
+    void updateUserDepartment() {
+        createSubmitted(tenant, tenant.getEmployee());
+        signIn(tenant.getAdmin());
+        assertStatements(5, () -> userService.updateUserDepartment(tenant.getEmployee().getId(), "Sales"));
+    }
+
+    @Test
+    void resetUserPassword() {
+        assertStatements(3, () -> userService.resetUserPassword(tenant.getEmployee().getId(), "password2"));
+    }
+}
@@ -0,0 +1,169 @@
+package com.expenseops.support;
+
+import com.expenseops.dto.AuthResponse;
+import com.expenseops.dto.ExpenseRequest;
+import com.expenseops.dto.RegisterRequest;
+import com.expenseops.entity.UserRole;
+import com.expenseops.security.AuthenticatedUser;
+import com.expenseops.service.AuthService;
+import com.expenseops.service.CategoryService;
+import com.expenseops.service.ExpenseService;
+import com.expenseops.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Base for tests that call the services against the embedded database, signed in as one of a fresh tenant's users.
+ * The application context is shared by every subclass; each test creates its own tenant, so tests do not see each
+ * other's data.
+ */
+@SpringBootTest(properties = {
+        // The lowest cost BCrypt allows: tests register users, they do not measure hashing
+        "security.password.bcrypt-cost=4",
+        "spring.jpa.show-sql=false" })
+@Import(ServiceTestSupport.StatementRecording.class)
+public abstract class ServiceTestSupport {
+
+    protected static final String PASSWORD = "password1";
+
+    @Autowired
+    protected AuthService authService;
+
+    @Autowired
+    protected UserService userService;
+
+    @Autowired
+    protected ExpenseService expenseService;
+
+    @Autowired
+    protected CategoryService categoryService;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", TestDatabase::getJdbcUrl);
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+    }
+
+    @AfterEach
+    void signOut() {
+        SecurityContextHolder.clearContext();
+    }
+
+    /**
+     * Creates a tenant with an admin, a manager and two employees, and warms the per-tenant caches (categories,
+     * status counters) the way any earlier request would have. Leaves the admin signed in.
+     */
+    protected TestTenant createTenant() {
+        String suffix = UUID.randomUUID().toString();
+        TestUser admin = register("Admin", "admin-" + suffix, null, "Tenant " + suffix);
+        signIn(admin);
+        String inviteCode = userService.getTenantInviteCode();
+        TestUser manager = register("Manager", "manager-" + suffix, inviteCode, null);
+        TestUser employee = register("Employee", "employee-" + suffix, inviteCode, null);
+        TestUser otherEmployee = register("Other Employee", "other-" + suffix, inviteCode, null);
+
+        signIn(admin);
+        userService.updateUserRole(manager.getId(), UserRole.MANAGER);
+        UUID categoryId = categoryService.getCategories().get(0).getId();
+        expenseService.getStatusCounts();
+        return new TestTenant(admin, manager.withRole(UserRole.MANAGER), employee, otherEmployee, categoryId);
+    }
+
+    protected void signIn(TestUser user) {
+        AuthenticatedUser principal = new AuthenticatedUser(user.getId(), user.getTenantId(), user.getName(),
+                user.getEmail(), null, user.getRole(), true);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(principal, null,
+                List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()))));
+    }
+
+    protected ExpenseRequest expenseRequest(UUID categoryId, String title) {
+        ExpenseRequest request = new ExpenseRequest();
+        request.setTitle(title);
+        request.setDescription("Taxi from the airport to the client office");
+        request.setAmount(new BigDecimal("42.50"));
+        request.setCategoryId(categoryId);
+        request.setExpenseDate(LocalDate.of(2026, 1, 15));
+        return request;
+    }
+
+    protected UUID createDraft(TestTenant tenant, TestUser owner) {
+        signIn(owner);
+        return expenseService.createExpense(expenseRequest(tenant.getCategoryId(), "Airport taxi")).getId();
+    }
+
+    protected UUID createSubmitted(TestTenant tenant, TestUser owner) {
+        UUID id = createDraft(tenant, owner);
+        expenseService.submitExpense(id);
+        return id;
+    }
+
+    protected UUID createApproved(TestTenant tenant, TestUser owner) {
+        UUID id = createSubmitted(tenant, owner);
+        signIn(tenant.getManager());
+        expenseService.approveExpense(id);
+        return id;
+    }
+
+    protected UUID createRejected(TestTenant tenant, TestUser owner) {
+        UUID id = createSubmitted(tenant, owner);
+        signIn(tenant.getManager());
+        expenseService.rejectExpense(id, "Missing receipt");
+        return id;
+    }
+
+    protected UUID createReimbursed(TestTenant tenant, TestUser owner) {
+        UUID id = createApproved(tenant, owner);
+        signIn(tenant.getAdmin());
+        expenseService.reimburseExpense(id);
+        return id;
+    }
+
+    /**
+     * Runs the call and checks it executed at most budget SQL statements; the failure message lists them.
+     */
+    protected void assertStatements(int budget, Runnable call) {
+        List<String> statements = StatementRecorder.record(call);
+        assertThat(statements)
+                .as("SQL statements executed:%n%s", String.join("\n", statements))
+                .hasSizeLessThanOrEqualTo(budget);
+    }
+
+    private TestUser register(String name, String emailPrefix, String inviteCode, String newTenantName) {
+        RegisterRequest request = new RegisterRequest();
+        request.setName(name);
+        request.setEmail(emailPrefix + "@test.example");
+        request.setPassword(PASSWORD);
+        request.setInviteCode(inviteCode);
+        request.setNewTenantName(newTenantName);
+        AuthResponse response = authService.register(request);
+        return new TestUser(response.getUserId(), response.getTenantId(), response.getName(), response.getEmail(),
+                response.getRole());
+    }
+
+    @TestConfiguration
+    static class StatementRecording {
+
+        @Bean
+        static BeanPostProcessor statementRecordingDataSource() {
+            return StatementRecorder.dataSourceWrapper();
+        }
+    }
+}
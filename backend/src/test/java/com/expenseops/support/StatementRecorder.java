@@ -0,0 +1,68 @@
+package com.expenseops.support;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Records the SQL statements the current thread executes through the application's DataSource, Hibernate and
+ * JdbcTemplate alike. A JDBC batch counts as one statement. Statements of other threads (the audit writer,
+ * scheduled jobs) are not recorded.
+ */
+public class StatementRecorder implements QueryExecutionListener {
+
+    private static final ThreadLocal<List<String>> RECORDING = new ThreadLocal<>();
+
+    /**
+     * Runs the action and returns the statements it executed, in order.
+     */
+    public static List<String> record(Runnable action) {
+        List<String> statements = new ArrayList<>();
+        RECORDING.set(statements);
+        try {
+            action.run();
+        } finally {
+            RECORDING.remove();
+        }
+        return statements;
+    }
+
+    /**
+     * Wraps the application's DataSource so its statements can be recorded.
+     */
+    public static BeanPostProcessor dataSourceWrapper() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(new StatementRecorder())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        List<String> statements = RECORDING.get();
+        if (statements != null) {
+            statements.add(queryInfoList.stream()
+                    .map(QueryInfo::getQuery)
+                    .collect(Collectors.joining("; ")));
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.expenseops.support;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.io.IOException;
+
+/**
+ * One embedded Postgres server for the whole test run, started on first use and stopped when the JVM exits.
+ * The migrations and several queries are Postgres-specific, so tests run against the real thing.
+ */
+public final class TestDatabase {
+
+    private static EmbeddedPostgres postgres;
+
+    private TestDatabase() {
+    }
+
+    public static synchronized String getJdbcUrl() {
+        if (postgres == null) {
+            try {
+                postgres = EmbeddedPostgres.builder().start();
+            } catch (IOException e) {
+                throw new RuntimeException("Cannot start embedded Postgres", e);
+            }
+            EmbeddedPostgres started = postgres;
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    started.close();
+                } catch (IOException e) {
+                    // The JVM is exiting anyway
+                }
+            }));
+        }
+        return postgres.getJdbcUrl("postgres", "postgres");
+    }
+}
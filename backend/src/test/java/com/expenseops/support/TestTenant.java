@@ -0,0 +1,47 @@
+package com.expenseops.support;
+
+import java.util.UUID;
+
+/**
+ * A tenant created for one test, with its users and one of its categories.
+ */
+public final class TestTenant {
+
+    private final TestUser admin;
+    private final TestUser manager;
+    private final TestUser employee;
+    private final TestUser otherEmployee;
+    private final UUID categoryId;
+
+    TestTenant(TestUser admin, TestUser manager, TestUser employee, TestUser otherEmployee, UUID categoryId) {
+        this.admin = admin;
+        this.manager = manager;
+        this.employee = employee;
+        this.otherEmployee = otherEmployee;
+        this.categoryId = categoryId;
+    }
+
+    public UUID getId() {
+        return admin.getTenantId();
+    }
+
+    public TestUser getAdmin() {
+        return admin;
+    }
+
+    public TestUser getManager() {
+        return manager;
+    }
+
+    public TestUser getEmployee() {
+        return employee;
+    }
+
+    public TestUser getOtherEmployee() {
+        return otherEmployee;
+    }
+
+    public UUID getCategoryId() {
+        return categoryId;
+    }
+}
@@ -0,0 +1,49 @@
+package com.expenseops.support;
+
+import com.expenseops.entity.UserRole;
+
+import java.util.UUID;
+
+/**
+ * A registered user of a test tenant, as tests sign in with it.
+ */
+public final class TestUser {
+
+    private final UUID id;
+    private final UUID tenantId;
+    private final String name;
+    private final String email;
+    private final UserRole role;
+
+    TestUser(UUID id, UUID tenantId, String name, String email, UserRole role) {
+        this.id = id;
+        this.tenantId = tenantId;
+        this.name = name;
+        this.email = email;
+        this.role = role;
+    }
+
+    TestUser withRole(UserRole newRole) {
+        return new TestUser(id, tenantId, name, email, newRole);
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public UUID getTenantId() {
+        return tenantId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public UserRole getRole() {
+        return role;
+    }
+}
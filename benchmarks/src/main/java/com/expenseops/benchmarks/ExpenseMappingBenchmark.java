@@ -0,0 +1,45 @@
+package com.expenseops.benchmarks;
+
+import com.expenseops.dto.ExpenseResponse;
+import com.expenseops.entity.Expense;
+import com.expenseops.entity.Tenant;
+import com.expenseops.entity.User;
+import com.expenseops.service.ExpenseMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ExpenseMapper.toResponse, the entity-to-DTO mapping behind every expense endpoint, on a fully loaded entity.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExpenseMappingBenchmark {
+
+    private Expense expense;
+
+    @Setup
+    public void setUp() {
+        Tenant tenant = Fixtures.tenant();
+        User user = Fixtures.user(tenant);
+        expense = Fixtures.expense(1, user, Fixtures.category(tenant));
+    }
+
+    @Benchmark
+    public ExpenseResponse toResponse() {
+        return ExpenseMapper.toResponse(expense);
+    }
+}
@@ -0,0 +1,92 @@
+package com.expenseops.benchmarks;
+
+import com.expenseops.entity.Category;
+import com.expenseops.entity.Expense;
+import com.expenseops.entity.ExpenseStatus;
+import com.expenseops.entity.Tenant;
+import com.expenseops.entity.User;
+import com.expenseops.entity.UserRole;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/**
+ * Deterministic sample data, so runs are comparable: the same inputs every time, no randomness.
+ */
+final class Fixtures {
+
+    static final UUID TENANT_ID = new UUID(1, 1);
+    static final UUID USER_ID = new UUID(2, 1);
+    static final OffsetDateTime CREATED_AT = OffsetDateTime.of(2026, 1, 15, 9, 30, 0, 0, ZoneOffset.UTC);
+
+    private Fixtures() {
+    }
+
+    static Tenant tenant() {
+        Tenant tenant = new Tenant();
+        tenant.setId(TENANT_ID);
+        tenant.setName("Acme Corp");
+        tenant.setSlug("acme-corp");
+        return tenant;
+    }
+
+    static User user(Tenant tenant) {
+        User user = new User();
+        user.setId(USER_ID);
+        user.setTenant(tenant);
+        user.setName("Jordan Example");
+        user.setEmail("jordan@acme.example");
+        user.setDepartment("Engineering");
+        user.setRole(UserRole.EMPLOYEE);
+        return user;
+    }
+
+    static Category category(Tenant tenant) {
+        Category category = new Category();
+        category.setId(new UUID(3, 1));
+        category.setTenant(tenant);
+        category.setName("Travel");
+        category.setIcon("plane");
+        category.setDescription("Flights, trains and taxis");
+        return category;
+    }
+
+    /**
+     * A reimbursed expense, with every field the response carries filled in.
+     */
+    static Expense expense(int i, User user, Category category) {
+        Expense expense = new Expense();
+        expense.setId(new UUID(4, i));
+        expense.setTenant(user.getTenant());
+        expense.setUser(user);
+        expense.setCategory(category);
+        expense.setTitle("Airport taxi " + i);
+        expense.setDescription("Taxi from the airport to the client office, trip " + i);
+        expense.setAmount(new BigDecimal("42.50").add(BigDecimal.valueOf(i % 100)));
+        expense.setExpenseDate(LocalDate.of(2026, 1, 1 + i % 28));
+        expense.setStatus(ExpenseStatus.REIMBURSED);
+        expense.setSubmittedAt(CREATED_AT.plusHours(1));
+        expense.setApprovedAt(CREATED_AT.plusHours(5));
+        expense.setApprovedById(new UUID(2, 2));
+        expense.setApprovedByName("Morgan Manager");
+        expense.setReimbursedAt(CREATED_AT.plusDays(2));
+        expense.setReimbursedById(new UUID(2, 3));
+        expense.setReimbursedByName("Casey Finance");
+        expense.setReceiptUrl("https://receipts.example/" + i + ".pdf");
+        expense.setCreatedAt(CREATED_AT.plusMinutes(i));
+        expense.setUpdatedAt(CREATED_AT.plusDays(2));
+        return expense;
+    }
+
+    /**
+     * An ObjectMapper with Spring Boot's defaults (Java time module, ISO dates instead of timestamps).
+     */
+    static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json().build();
+    }
+}
@@ -0,0 +1,70 @@
+package com.expenseops.benchmarks;
+
+import com.expenseops.security.JwtUtils;
+import com.expenseops.security.VerifiedToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and verification. verifyCached is the steady state (the same token on every request);
+ * verifyUncached goes through an instance without a verified-token cache, so each call parses the token and checks
+ * its signature (the first request with a token).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret-0123456789";
+    private static final int UNCACHED_TOKENS = 4096;
+
+    private JwtUtils jwtUtils;
+    private JwtUtils uncachedJwtUtils;
+    private String token;
+    private String[] uncachedTokens;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = new JwtUtils(SECRET, TimeUnit.DAYS.toMillis(1), 10_000, new SimpleMeterRegistry());
+        uncachedJwtUtils = new JwtUtils(SECRET, TimeUnit.DAYS.toMillis(1), 0, new SimpleMeterRegistry());
+        token = jwtUtils.generateToken(Fixtures.USER_ID, Fixtures.TENANT_ID, "jordan@acme.example", "EMPLOYEE");
+        uncachedTokens = new String[UNCACHED_TOKENS];
+        for (int i = 0; i < UNCACHED_TOKENS; i++) {
+            uncachedTokens[i] = jwtUtils.generateToken(Fixtures.USER_ID, Fixtures.TENANT_ID,
+                    "jordan@acme.example", "EMPLOYEE");
+        }
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtils.generateToken(Fixtures.USER_ID, Fixtures.TENANT_ID, "jordan@acme.example", "EMPLOYEE");
+    }
+
+    @Benchmark
+    public VerifiedToken verifyCached() {
+        return jwtUtils.verify(token);
+    }
+
+    // Rotates through many tokens so none is still held while the zero-size cache evicts it
+    @Benchmark
+    public VerifiedToken verifyUncached() {
+        String candidate = uncachedTokens[next];
+        next = (next + 1) % UNCACHED_TOKENS;
+        return uncachedJwtUtils.verify(candidate);
+    }
+}
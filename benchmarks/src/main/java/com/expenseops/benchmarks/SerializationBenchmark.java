@@ -0,0 +1,71 @@
+package com.expenseops.benchmarks;
+
+import com.expenseops.dto.ExpenseResponse;
+import com.expenseops.dto.RawJson;
+import com.expenseops.entity.Category;
+import com.expenseops.entity.Tenant;
+import com.expenseops.entity.User;
+import com.expenseops.service.ExpenseMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing a list of expenses as a JSON response body. responses serializes ExpenseResponse objects as most
+ * endpoints do; rawJson writes the same items already serialized, as the approval history does with finalized
+ * expenses (FinalizedExpenseJsonCache).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({ "1", "100", "10000" })
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<ExpenseResponse> responses;
+    private List<RawJson> rawJson;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = Fixtures.objectMapper();
+        Tenant tenant = Fixtures.tenant();
+        User user = Fixtures.user(tenant);
+        Category category = Fixtures.category(tenant);
+
+        responses = new ArrayList<>(size);
+        rawJson = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ExpenseResponse response = ExpenseMapper.toResponse(Fixtures.expense(i, user, category));
+            responses.add(response);
+            rawJson.add(new RawJson(objectMapper.writeValueAsBytes(response)));
+        }
+    }
+
+    @Benchmark
+    public byte[] responses() throws Exception {
+        return objectMapper.writeValueAsBytes(responses);
+    }
+
+    @Benchmark
+    public byte[] rawJson() throws Exception {
+        return objectMapper.writeValueAsBytes(rawJson);
+    }
+}
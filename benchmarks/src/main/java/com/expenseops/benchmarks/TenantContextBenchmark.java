@@ -0,0 +1,74 @@
+package com.expenseops.benchmarks;
+
+import com.expenseops.entity.UserRole;
+import com.expenseops.security.AuthenticatedUser;
+import com.expenseops.security.SecurityContextTaskDecorator;
+import com.expenseops.security.TenantContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request tenant context cost. The tenant is read from the security context (TenantContext has no
+ * set/clear of its own), so setClear measures what each request pays: install the authentication, read the
+ * tenant, clear. decoratedTask adds the hand-over to an async task (SecurityContextTaskDecorator).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TenantContextBenchmark {
+
+    private Authentication authentication;
+    private SecurityContextTaskDecorator decorator;
+
+    @Setup
+    public void setUp() {
+        AuthenticatedUser user = new AuthenticatedUser(Fixtures.USER_ID, Fixtures.TENANT_ID, "Jordan Example",
+                "jordan@acme.example", "Engineering", UserRole.EMPLOYEE, true);
+        authentication = new UsernamePasswordAuthenticationToken(user, null, List.of());
+        decorator = new SecurityContextTaskDecorator();
+    }
+
+    @Benchmark
+    public UUID setClear() {
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(authentication);
+        SecurityContextHolder.setContext(context);
+        try {
+            return TenantContext.getCurrentTenant();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Benchmark
+    public void decoratedTask(Blackhole blackhole) {
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(authentication);
+        SecurityContextHolder.setContext(context);
+        try {
+            decorator.decorate(() -> blackhole.consume(TenantContext.getCurrentTenant())).run();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
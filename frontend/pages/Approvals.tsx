@@ -20,6 +20,7 @@ export const Approvals: React.FC = () => {
   const [activeTab, setActiveTab] = useState<'pending' | 'logs'>('pending');
   const [history, setHistory] = useState<Expense[]>([]);
   const [isLoadingHistory, setIsLoadingHistory] = useState(false);
+  const [historyCursor, setHistoryCursor] = useState<string | null>(null);
 
   // Pending actions state
   const [rejectId, setRejectId] = useState<string | null>(null);
@@ -43,11 +44,12 @@ export const Approvals: React.FC = () => {
     }
   }, [activeTab]);
 
-  const fetchHistory = async () => {
+  const fetchHistory = async (cursor?: string) => {
     setIsLoadingHistory(true);
     try {
-      const data = await expensesApi.getApprovalHistory();
-      setHistory(data);
+      const page = await expensesApi.getApprovalHistory(cursor);
+      setHistory(prev => cursor ? [...prev, ...page.items] : page.items);
+      setHistoryCursor(page.nextCursor);
     } catch (err) {
       console.error('Failed to fetch history:', err);
     } finally {
@@ -279,7 +281,7 @@ export const Approvals: React.FC = () => {
       ) : (
         /* History View */
         <div className="bg-white shadow rounded-lg overflow-hidden">
-          {isLoadingHistory ? (
+          {isLoadingHistory && history.length === 0 ? (
             <div className="flex justify-center py-12"><Loader2 className="h-8 w-8 animate-spin text-primary-500" /></div>
           ) : history.length === 0 ? (
             <div className="p-12 text-center text-slate-500">No history found.</div>
@@ -342,6 +344,11 @@ export const Approvals: React.FC = () => {
                   ))}
                 </tbody>
               </table>
+              {historyCursor && (
+                <div className="flex justify-center p-4 border-t border-slate-200">
+                  <Button variant="secondary" onClick={() => fetchHistory(historyCursor)} isLoading={isLoadingHistory}>Load more</Button>
+                </div>
+              )}
             </div>
           )}
         </div>
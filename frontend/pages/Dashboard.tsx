@@ -1,5 +1,7 @@
 import React, { useState, useEffect } from 'react';
+import { Link } from 'react-router-dom';
 import { useStore } from '../services/store';
+import { expensesApi, ExpenseSummaryResponse, ExpensePreview } from '../services/api';
 import { ExpenseStatus, Expense } from '../types';
 import { Button } from '../components/ui/Button';
 import { Input } from '../components/ui/Input';
@@ -20,7 +22,8 @@ export const Dashboard: React.FC = () => {
         updateExpense,
         submitExpense,
         deleteExpense,
-        fetchExpenses,
+        fetchExpensePage,
+        hasMoreExpenses,
         fetchCategories,
         currentUser,
         isLoading
@@ -49,12 +52,29 @@ export const Dashboard: React.FC = () => {
     const [isSubmitting, setIsSubmitting] = useState(false);
     const [receiptPreview, setReceiptPreview] = useState<string | null>(null);
 
+    // Totals and previews come from the summary, so they cover every expense while the list loads a page at a time
+    const [summary, setSummary] = useState<ExpenseSummaryResponse | null>(null);
+    const [isLoadingMore, setIsLoadingMore] = useState(false);
+    const loadSummary = () => {
+        expensesApi.getSummary().then(setSummary).catch(err => console.error('Failed to fetch summary:', err));
+    };
+
     // Fetch data on mount
     useEffect(() => {
-        fetchExpenses();
+        loadSummary();
+        fetchExpensePage();
         fetchCategories();
     }, []);
 
+    const handleLoadMore = async () => {
+        setIsLoadingMore(true);
+        try {
+            await fetchExpensePage(true);
+        } finally {
+            setIsLoadingMore(false);
+        }
+    };
+
     // Helper: Format date as dd/mm/yyyy
     const formatDate = (dateString: string | undefined) => {
         if (!dateString) return '-';
@@ -108,12 +128,24 @@ export const Dashboard: React.FC = () => {
     const myExpenses = expenses.filter(e => e.userId === currentUser?.id);
 
     const stats = {
-        total: myExpenses.reduce((sum, e) => sum + e.amount, 0),
-        pending: myExpenses.filter(e => e.status === ExpenseStatus.SUBMITTED).reduce((sum, e) => sum + e.amount, 0),
-        approved: myExpenses.filter(e => e.status === ExpenseStatus.APPROVED || e.status === ExpenseStatus.REIMBURSED).reduce((sum, e) => sum + e.amount, 0),
-        rejected: myExpenses.filter(e => e.status === ExpenseStatus.REJECTED).reduce((sum, e) => sum + e.amount, 0),
+        total: summary?.myTotalAmount ?? 0,
+        pending: summary?.myPendingAmount ?? 0,
+        approved: summary?.myApprovedAmount ?? 0,
+        rejected: summary?.myRejectedAmount ?? 0,
     };
 
+    // Approval and reimbursement queues, only present for roles that act on them
+    const queues = [
+        summary?.pendingApprovals && {
+            label: 'Awaiting your approval', to: '/approvals', count: summary.pendingApprovalCount ?? 0,
+            amount: summary.pendingApprovalAmount ?? 0, previews: summary.pendingApprovals
+        },
+        summary?.awaitingReimbursement && {
+            label: 'Awaiting reimbursement', to: '/reimbursements', count: summary.awaitingReimbursementCount ?? 0,
+            amount: summary.awaitingReimbursementAmount ?? 0, previews: summary.awaitingReimbursement
+        },
+    ].filter(Boolean) as { label: string; to: string; count: number; amount: number; previews: ExpensePreview[] }[];
+
     const filteredExpenses = myExpenses
         .filter(e => {
             const matchesFilter = filter === 'ALL' || e.categoryId === filter;
@@ -210,6 +242,7 @@ export const Dashboard: React.FC = () => {
 
             setIsModalOpen(false);
             setReceiptPreview(null);
+            loadSummary();
         } catch (err) {
             console.error('Failed to save expense:', err);
             alert('Failed to save expense. Please try again.');
@@ -245,6 +278,7 @@ export const Dashboard: React.FC = () => {
         e.stopPropagation(); // Prevent row click
         try {
             await submitExpense(id);
+            loadSummary();
         } catch (err) {
             console.error('Failed to submit expense:', err);
         }
@@ -265,6 +299,7 @@ export const Dashboard: React.FC = () => {
         if (!deleteConfirm.expenseId) return;
         try {
             await deleteExpense(deleteConfirm.expenseId);
+            loadSummary();
         } catch (err) {
             console.error('Failed to delete expense:', err);
         }
@@ -324,6 +359,43 @@ export const Dashboard: React.FC = () => {
                 ))}
             </div>
 
+            {/* Approval / Reimbursement Queues */}
+            {queues.length > 0 && (
+                <div className="grid grid-cols-1 gap-5 lg:grid-cols-2">
+                    {queues.map(queue => (
+                        <div key={queue.to} className="bg-white shadow rounded-lg p-5">
+                            <div className="flex items-center justify-between mb-3">
+                                <div>
+                                    <h2 className="text-sm font-medium text-slate-500">{queue.label}</h2>
+                                    <p className="text-lg font-bold text-slate-900">
+                                        {queue.count} · ₹{queue.amount.toFixed(2)}
+                                    </p>
+                                </div>
+                                <Link to={queue.to} className="text-sm font-medium text-primary-600 hover:text-primary-700">
+                                    View all
+                                </Link>
+                            </div>
+                            {queue.previews.length === 0 ? (
+                                <p className="text-sm text-slate-400">Nothing waiting.</p>
+                            ) : (
+                                <ul className="divide-y divide-slate-100">
+                                    {queue.previews.map(preview => (
+                                        <li key={preview.id} className="py-2 flex items-center justify-between text-sm">
+                                            <span className="truncate text-slate-700" title={preview.title}>
+                                                <span className="mr-2">{preview.categoryIcon}</span>
+                                                {preview.title}
+                                                <span className="text-slate-400"> · {preview.userName}</span>
+                                            </span>
+                                            <span className="ml-3 font-medium text-slate-900">₹{preview.amount.toFixed(2)}</span>
+                                        </li>
+                                    ))}
+                                </ul>
+                            )}
+                        </div>
+                    ))}
+                </div>
+            )}
+
             {/* Controls: Search & Filters (Stacked Layout) */}
             <div className="bg-white shadow rounded-lg p-4 space-y-3">
                 {/* Row 1: Search Bar (Full Width) */}
@@ -494,6 +566,14 @@ export const Dashboard: React.FC = () => {
                             </tbody>
                         </table>
                     </div>
+                    {/* Search, filter and sort apply to the loaded rows */}
+                    {hasMoreExpenses && (
+                        <div className="flex justify-center border-t border-slate-200 p-3">
+                            <Button variant="ghost" size="sm" onClick={handleLoadMore} isLoading={isLoadingMore}>
+                                Load more
+                            </Button>
+                        </div>
+                    )}
                 </div>
             )
             }
@@ -45,6 +45,99 @@ export interface ExpenseResponse {
     expenseDate: string | null;
 }
 
+export interface ExpensePreview {
+    id: string;
+    title: string;
+    amount: number;
+    status: ExpenseResponse['status'];
+    userName: string;
+    categoryName: string;
+    categoryIcon: string;
+    createdAt: string;
+}
+
+export interface ExpenseSummaryResponse {
+    myCounts: Record<ExpenseResponse['status'], number>;
+    myTotalAmount: number;
+    myPendingAmount: number;
+    myApprovedAmount: number;
+    myRejectedAmount: number;
+    recentExpenses: ExpensePreview[];
+    pendingApprovalCount: number | null;
+    pendingApprovalAmount: number | null;
+    pendingApprovals: ExpensePreview[] | null;
+    awaitingReimbursementCount: number | null;
+    awaitingReimbursementAmount: number | null;
+    awaitingReimbursement: ExpensePreview[] | null;
+}
+
+export interface BulkActionResponse {
+    succeeded: number;
+    failed: number;
+    results: { id: string; success: boolean; error: string | null }[];
+}
+
+export interface ExpenseImportResponse {
+    imported: number;
+    failed: number;
+    errors: { line: number; message: string }[];
+    errorsTruncated: boolean;
+    // Line ranges whose valid rows were not written; only these need importing again
+    failedChunks: { fromLine: number; toLine: number; rows: number; message: string }[];
+}
+
+export interface PayoutRunResponse {
+    id: string;
+    status: 'PENDING' | 'RUNNING' | 'COMPLETED' | 'FAILED' | 'CANCELLED';
+    chunkSize: number;
+    expectedCount: number;
+    processedCount: number;
+    totalAmount: number;
+    chunksCompleted: number;
+    expensesPerSecond: number | null;
+    createdByName: string;
+    cutoff: string;
+    createdAt: string;
+    startedAt: string | null;
+    finishedAt: string | null;
+    lastError: string | null;
+}
+
+export interface AuditLogResponse {
+    id: string;
+    entityType: string;
+    entityId: string;
+    action: string;
+    actorId: string | null;
+    actorName: string | null;
+    oldValues: Record<string, unknown> | null;
+    newValues: Record<string, unknown> | null;
+    createdAt: string;
+}
+
+export interface AuditLogFilters {
+    entityType?: string;
+    entityId?: string;
+    actorId?: string;
+    from?: string;
+    to?: string;
+}
+
+export interface CursorPage<T> {
+    items: T[];
+    nextCursor: string | null;
+    hasMore: boolean;
+}
+
+// Helper to build the cursor/limit query string for paginated lists
+const pageQuery = (cursor?: string, limit?: number): string => {
+    const params = new URLSearchParams();
+    if (cursor) params.set('cursor', cursor);
+    if (limit) params.set('limit', String(limit));
+    const query = params.toString();
+    return query ? `?${query}` : '';
+};
+
 // Helper to get token from localStorage
 const getToken = (): string | null => localStorage.getItem('token');
 
@@ -81,6 +174,18 @@ export const authApi = {
         return handleResponse(response);
     },
 
+    // Revokes the current token on the server
+    logout: async (): Promise<void> => {
+        const response = await fetch(`${API_BASE_URL}/auth/logout`, {
+            method: 'POST',
+            headers: authHeaders()
+        });
+        if (!response.ok) {
+            const error = await response.json().catch(() => ({ message: 'Logout failed' }));
+            throw new ApiError(response.status, error.message);
+        }
+    },
+
     register: async (name: string, email: string, password: string, inviteCode?: string, newTenantName?: string): Promise<AuthResponse> => {
         const response = await fetch(`${API_BASE_URL}/auth/register`, {
             method: 'POST',
@@ -117,29 +222,53 @@ export const categoriesApi = {
 
 // Expenses API
 export const expensesApi = {
-    getMyExpenses: async (): Promise<ExpenseResponse[]> => {
-        const response = await fetch(`${API_BASE_URL}/expenses`, {
+    getMyExpenses: async (cursor?: string, limit?: number): Promise<CursorPage<ExpenseResponse>> => {
+        const response = await fetch(`${API_BASE_URL}/expenses${pageQuery(cursor, limit)}`, {
+            headers: authHeaders()
+        });
+        return handleResponse(response);
+    },
+
+    getPendingApprovals: async (cursor?: string, limit?: number): Promise<CursorPage<ExpenseResponse>> => {
+        const response = await fetch(`${API_BASE_URL}/expenses/pending${pageQuery(cursor, limit)}`, {
             headers: authHeaders()
         });
         return handleResponse(response);
     },
 
-    getPendingApprovals: async (): Promise<ExpenseResponse[]> => {
-        const response = await fetch(`${API_BASE_URL}/expenses/pending`, {
+    getApprovedForReimbursement: async (cursor?: string, limit?: number): Promise<CursorPage<ExpenseResponse>> => {
+        const response = await fetch(`${API_BASE_URL}/expenses/approved${pageQuery(cursor, limit)}`, {
             headers: authHeaders()
         });
         return handleResponse(response);
     },
 
-    getApprovedForReimbursement: async (): Promise<ExpenseResponse[]> => {
-        const response = await fetch(`${API_BASE_URL}/expenses/approved`, {
+    getApprovalHistory: async (cursor?: string, limit?: number): Promise<CursorPage<ExpenseResponse>> => {
+        const response = await fetch(`${API_BASE_URL}/expenses/approval-history${pageQuery(cursor, limit)}`, {
             headers: authHeaders()
         });
         return handleResponse(response);
     },
 
-    getApprovalHistory: async (): Promise<ExpenseResponse[]> => {
-        const response = await fetch(`${API_BASE_URL}/expenses/approval-history`, {
+    getSummary: async (): Promise<ExpenseSummaryResponse> => {
+        const response = await fetch(`${API_BASE_URL}/expenses/summary`, {
+            headers: authHeaders()
+        });
+        return handleResponse(response);
+    },
+
+    getStatusCounts: async (): Promise<Record<ExpenseResponse['status'], number>> => {
+        const response = await fetch(`${API_BASE_URL}/expenses/counts`, {
+            headers: authHeaders()
+        });
+        return handleResponse(response);
+    },
+
+    search: async (query: string, cursor?: string, limit?: number): Promise<CursorPage<ExpenseResponse>> => {
+        const params = new URLSearchParams({ q: query });
+        if (cursor) params.set('cursor', cursor);
+        if (limit) params.set('limit', String(limit));
+        const response = await fetch(`${API_BASE_URL}/expenses/search?${params}`, {
             headers: authHeaders()
         });
         return handleResponse(response);
@@ -203,6 +332,42 @@ export const expensesApi = {
         return handleResponse(response);
     },
 
+    bulkApprove: async (ids: string[]): Promise<BulkActionResponse> => {
+        const response = await fetch(`${API_BASE_URL}/expenses/bulk/approve`, {
+            method: 'POST',
+            headers: authHeaders(),
+            body: JSON.stringify({ ids })
+        });
+        return handleResponse(response);
+    },
+
+    bulkReject: async (ids: string[], reason: string): Promise<BulkActionResponse> => {
+        const response = await fetch(`${API_BASE_URL}/expenses/bulk/reject`, {
+            method: 'POST',
+            headers: authHeaders(),
+            body: JSON.stringify({ ids, reason })
+        });
+        return handleResponse(response);
+    },
+
+    bulkReimburse: async (ids: string[]): Promise<BulkActionResponse> => {
+        const response = await fetch(`${API_BASE_URL}/expenses/bulk/reimburse`, {
+            method: 'POST',
+            headers: authHeaders(),
+            body: JSON.stringify({ ids })
+        });
+        return handleResponse(response);
+    },
+
+    importCsv: async (file: File): Promise<ExpenseImportResponse> => {
+        const response = await fetch(`${API_BASE_URL}/expenses/import`, {
+            method: 'POST',
+            headers: { ...authHeaders(), 'Content-Type': 'text/csv' },
+            body: file
+        });
+        return handleResponse(response);
+    },
+
     delete: async (id: string): Promise<void> => {
         const response = await fetch(`${API_BASE_URL}/expenses/${id}`, {
             method: 'DELETE',
@@ -215,6 +380,73 @@ export const expensesApi = {
     }
 };
 
+// Analytics API
+export interface SpendRollupResponse {
+    month: string;
+    categoryId: string;
+    categoryName: string;
+    categoryIcon: string;
+    department: string | null;
+    status: ExpenseResponse['status'];
+    expenseCount: number;
+    totalAmount: number;
+}
+
+export const payoutRunsApi = {
+    create: async (chunkSize?: number): Promise<PayoutRunResponse> => {
+        const query = chunkSize ? `?chunkSize=${chunkSize}` : '';
+        const response = await fetch(`${API_BASE_URL}/payout-runs${query}`, {
+            method: 'POST',
+            headers: authHeaders()
+        });
+        return handleResponse(response);
+    },
+
+    getAll: async (): Promise<PayoutRunResponse[]> => {
+        const response = await fetch(`${API_BASE_URL}/payout-runs`, {
+            headers: authHeaders()
+        });
+        return handleResponse(response);
+    },
+
+    getById: async (id: string): Promise<PayoutRunResponse> => {
+        const response = await fetch(`${API_BASE_URL}/payout-runs/${id}`, {
+            headers: authHeaders()
+        });
+        return handleResponse(response);
+    },
+
+    cancel: async (id: string): Promise<PayoutRunResponse> => {
+        const response = await fetch(`${API_BASE_URL}/payout-runs/${id}/cancel`, {
+            method: 'POST',
+            headers: authHeaders()
+        });
+        return handleResponse(response);
+    },
+
+    resume: async (id: string): Promise<PayoutRunResponse> => {
+        const response = await fetch(`${API_BASE_URL}/payout-runs/${id}/resume`, {
+            method: 'POST',
+            headers: authHeaders()
+        });
+        return handleResponse(response);
+    }
+};
+
+export const analyticsApi = {
+    // from/to are YYYY-MM; the server defaults to the last 12 months
+    getSpend: async (from?: string, to?: string): Promise<SpendRollupResponse[]> => {
+        const params = new URLSearchParams();
+        if (from) params.set('from', from);
+        if (to) params.set('to', to);
+        const query = params.toString();
+        const response = await fetch(`${API_BASE_URL}/analytics/spend${query ? `?${query}` : ''}`, {
+            headers: authHeaders()
+        });
+        return handleResponse(response);
+    }
+};
+
 // User Response interface
 export interface UserResponse {
     id: string;
@@ -309,5 +541,19 @@ export const adminApi = {
             headers: authHeaders()
         });
         return handleResponse(response);
+    },
+
+    // Audit trail, newest first; from/to are ISO-8601 date-times
+    getAuditLogs: async (filters: AuditLogFilters = {}, cursor?: string, limit?: number): Promise<CursorPage<AuditLogResponse>> => {
+        const params = new URLSearchParams();
+        Object.entries(filters).forEach(([key, value]) => {
+            if (value) params.set(key, value);
+        });
+        if (cursor) params.set('cursor', cursor);
+        if (limit) params.set('limit', String(limit));
+        const response = await fetch(`${API_BASE_URL}/admin/audit-logs?${params}`, {
+            headers: authHeaders()
+        });
+        return handleResponse(response);
     }
 };
@@ -1,6 +1,6 @@
 import React, { createContext, useContext, useState, useEffect } from 'react';
 import { User, Expense, ExpenseStatus, UserRole, Category } from '../types';
-import { authApi, expensesApi, categoriesApi, AuthResponse, ExpenseResponse } from './api';
+import { authApi, expensesApi, categoriesApi, AuthResponse, ExpenseResponse, CursorPage } from './api';
 
 interface StoreContextType {
   currentUser: User | null;
@@ -13,7 +13,9 @@ interface StoreContextType {
   error: string | null;
   login: (email: string, password: string) => Promise<void>;
   logout: () => void;
+  hasMoreExpenses: boolean;
   fetchExpenses: () => Promise<void>;
+  fetchExpensePage: (more?: boolean) => Promise<void>;
   fetchPendingApprovals: () => Promise<void>;
   fetchApprovedForReimbursement: () => Promise<void>;
   fetchCategories: () => Promise<void>;
@@ -51,10 +53,32 @@ const mapExpenseResponse = (e: ExpenseResponse): Expense => ({
   reimbursedAt: e.reimbursedAt || undefined,
 });
 
+// Largest page the server returns (ExpenseService.MAX_PAGE_SIZE)
+const ALL_PAGES_LIMIT = 200;
+
+// Rows per "Load more" step of the dashboard list
+const EXPENSE_PAGE_LIMIT = 50;
+
+// Follows nextCursor to the last page, for lists the views total, filter or act on as a whole
+const fetchAllPages = async (
+  getPage: (cursor?: string, limit?: number) => Promise<CursorPage<ExpenseResponse>>
+): Promise<Expense[]> => {
+  const items: Expense[] = [];
+  let cursor: string | undefined;
+  do {
+    const page = await getPage(cursor, ALL_PAGES_LIMIT);
+    items.push(...page.items.map(mapExpenseResponse));
+    cursor = page.nextCursor ?? undefined;
+  } while (cursor);
+  return items;
+};
+
 export const StoreProvider: React.FC<{ children: React.ReactNode }> = ({ children }) => {
   const [currentUser, setCurrentUser] = useState<User | null>(null);
   const [token, setToken] = useState<string | null>(null);
   const [expenses, setExpenses] = useState<Expense[]>([]);
+  // Cursor of the next page of expenses, null once the last page is loaded
+  const [expensesCursor, setExpensesCursor] = useState<string | null>(null);
   const [pendingApprovals, setPendingApprovals] = useState<Expense[]>([]);
   const [approvedForReimbursement, setApprovedForReimbursement] = useState<Expense[]>([]);
   const [categories, setCategories] = useState<Category[]>([]);
@@ -99,9 +123,14 @@ export const StoreProvider: React.FC<{ children: React.ReactNode }> = ({ childre
   };
 
   const logout = () => {
+    // Best effort: local sign-out must not depend on the server being reachable
+    if (localStorage.getItem('token')) {
+      authApi.logout().catch(() => undefined);
+    }
     setCurrentUser(null);
     setToken(null);
     setExpenses([]);
+    setExpensesCursor(null);
     setPendingApprovals([]);
     setApprovedForReimbursement([]);
     setCategories([]);
@@ -112,8 +141,8 @@ export const StoreProvider: React.FC<{ children: React.ReactNode }> = ({ childre
   const fetchExpenses = async () => {
     setIsLoading(true);
     try {
-      const response = await expensesApi.getMyExpenses();
-      setExpenses(response.map(mapExpenseResponse));
+      setExpenses(await fetchAllPages(expensesApi.getMyExpenses));
+      setExpensesCursor(null);
     } catch (err: any) {
       setError(err.message || 'Failed to fetch expenses');
     } finally {
@@ -121,11 +150,26 @@ export const StoreProvider: React.FC<{ children: React.ReactNode }> = ({ childre
     }
   };
 
+  // One page at a time: the first page replaces the list, more appends the next one
+  const fetchExpensePage = async (more: boolean = false) => {
+    if (more && !expensesCursor) return;
+    if (!more) setIsLoading(true);
+    try {
+      const page = await expensesApi.getMyExpenses(more ? expensesCursor! : undefined, EXPENSE_PAGE_LIMIT);
+      const items = page.items.map(mapExpenseResponse);
+      setExpenses(prev => more ? [...prev, ...items.filter(e => !prev.some(p => p.id === e.id))] : items);
+      setExpensesCursor(page.nextCursor);
+    } catch (err: any) {
+      setError(err.message || 'Failed to fetch expenses');
+    } finally {
+      if (!more) setIsLoading(false);
+    }
+  };
+
   const fetchPendingApprovals = async () => {
     setIsLoading(true);
     try {
-      const response = await expensesApi.getPendingApprovals();
-      setPendingApprovals(response.map(mapExpenseResponse));
+      setPendingApprovals(await fetchAllPages(expensesApi.getPendingApprovals));
     } catch (err: any) {
       setError(err.message || 'Failed to fetch pending approvals');
     } finally {
@@ -136,8 +180,7 @@ export const StoreProvider: React.FC<{ children: React.ReactNode }> = ({ childre
   const fetchApprovedForReimbursement = async () => {
     setIsLoading(true);
     try {
-      const response = await expensesApi.getApprovedForReimbursement();
-      setApprovedForReimbursement(response.map(mapExpenseResponse));
+      setApprovedForReimbursement(await fetchAllPages(expensesApi.getApprovedForReimbursement));
     } catch (err: any) {
       setError(err.message || 'Failed to fetch approved expenses');
     } finally {
@@ -254,6 +297,7 @@ export const StoreProvider: React.FC<{ children: React.ReactNode }> = ({ childre
       currentUser,
       token,
       expenses,
+      hasMoreExpenses: expensesCursor !== null,
       pendingApprovals,
       approvedForReimbursement,
       categories,
@@ -262,6 +306,7 @@ export const StoreProvider: React.FC<{ children: React.ReactNode }> = ({ childre
       login,
       logout,
       fetchExpenses,
+      fetchExpensePage,
       fetchPendingApprovals,
       fetchApprovedForReimbursement,
       fetchCategories,